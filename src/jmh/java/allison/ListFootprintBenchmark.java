@@ -0,0 +1,109 @@
+package allison;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+
+/**
+ * Compares the heap retained by an object-per-task list, a columnar list and an off-heap list, and the
+ * cost of scanning each for deadlines. The retained heap of each backing is printed during setup;
+ * the records of the off-heap list are not counted, as they live in direct buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class ListFootprintBenchmark {
+    @Param({"1000000", "10000000"})
+    private int numTasks;
+
+    @Param({"ARRAY", "COLUMNAR", "OFF_HEAP"})
+    private ListBacking backing;
+
+    private TaskList taskList;
+
+    /**
+     * Builds the task list in the backing under test and prints how much heap it retains.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        long heapBefore = usedHeap();
+        List<Task> tasks;
+        switch (backing) {
+        case COLUMNAR:
+            tasks = new ColumnarTaskList();
+            break;
+        case OFF_HEAP:
+            tasks = new OffHeapTaskList();
+            break;
+        default:
+            tasks = new ArrayList<>();
+        }
+        LocalDateTime start = LocalDateTime.of(2024, 6, 15, 10, 0);
+        for (int i = 0; i < numTasks; i++) {
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo("read chapter " + i));
+                break;
+            case 1:
+                tasks.add(new Deadline("submit report " + i, start.plusMinutes(i)));
+                break;
+            default:
+                tasks.add(new Event("team meeting " + i, start.plusMinutes(i), start.plusMinutes(i + 60)));
+            }
+        }
+        taskList = new TaskList(tasks);
+        long retained = usedHeap() - heapBefore;
+        System.out.println(backing + " with " + numTasks + " tasks retains " + (retained >> 20) + " MB ("
+                + retained / numTasks + " bytes per task)");
+    }
+
+    /**
+     * Releases the task list before the next trial.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        taskList = null;
+    }
+
+    @Benchmark
+    public ArrayList<Task> findDeadlinesInFirstWeek() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 15, 10, 0);
+        return taskList.findDeadlines(start, start.plusDays(7));
+    }
+
+    /**
+     * Returns the heap in use after requesting a full garbage collection.
+     *
+     * @return The used heap in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
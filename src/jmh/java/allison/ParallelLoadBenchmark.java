@@ -0,0 +1,91 @@
+package allison;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import allison.task.Task;
+
+/**
+ * Measures how loading a large text snapshot scales with the number of parser threads.
+ * Compare the {@code parallelism} rows against the machine's core count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParallelLoadBenchmark {
+    @Param({"1000000"})
+    private int numTasks;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private Path file;
+    private ByteBuffer snapshot;
+    private Storage storage;
+    private ForkJoinPool pool;
+
+    /**
+     * Writes a snapshot with a mix of task types and maps it into memory.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("allison-bench", ".txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < numTasks; i++) {
+            switch (i % 3) {
+            case 0:
+                content.append("T|0|read chapter ").append(i).append('\n');
+                break;
+            case 1:
+                content.append("D|1|submit report ").append(i).append("|2024-06-15T14:30\n");
+                break;
+            default:
+                content.append("E|0|team meeting ").append(i).append("|2024-06-15T10:00|2024-06-15T12:00\n");
+            }
+        }
+        Files.writeString(file, content);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        storage = new Storage(file.toString());
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Removes the snapshot and stops the worker pool.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ArrayList<Task> parallelParse() {
+        return new ParallelTaskLoader(storage, pool).parse(snapshot.duplicate());
+    }
+}
@@ -0,0 +1,88 @@
+package allison;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+
+/**
+ * Compares {@link Storage#parseTask(String)} against the previous split-and-ISO-parse implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseTaskBenchmark {
+    private static final String[] LINES = {
+        "T|0|read chapter 12",
+        "D|1|submit report|2024-06-15T14:30",
+        "E|0|team meeting|2024-06-15T10:00|2024-06-15T12:00"
+    };
+
+    private final Storage storage = new Storage("data/bench.txt");
+
+    @Benchmark
+    public void scanningParser(Blackhole blackhole) {
+        for (String line : LINES) {
+            blackhole.consume(storage.parseTask(line));
+        }
+    }
+
+    @Benchmark
+    public void splittingParser(Blackhole blackhole) {
+        for (String line : LINES) {
+            blackhole.consume(parseTaskBySplitting(line));
+        }
+    }
+
+    /**
+     * Returns a Task parsed the way Storage did before the scanning parser,
+     * by splitting on a regex and parsing dates with the ISO formatter.
+     *
+     * @param line Line from the storage file.
+     * @return Parsed Task object, or null if parsing fails.
+     */
+    private static Task parseTaskBySplitting(String line) {
+        String[] parts = line.split("\\|");
+        boolean isDone = parts[1].equals("1");
+        String description = parts[2];
+
+        Task task;
+        try {
+            switch (parts[0]) {
+            case "T":
+                task = new Todo(description);
+                break;
+            case "D":
+                task = new Deadline(description, LocalDateTime.parse(parts[3]));
+                break;
+            case "E":
+                task = new Event(description, LocalDateTime.parse(parts[3]), LocalDateTime.parse(parts[4]));
+                break;
+            default:
+                return null;
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        task.setIsDone(isDone);
+        return task;
+    }
+}
@@ -0,0 +1,101 @@
+package allison;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+
+/**
+ * Compares the snapshot formats on save time and load time.
+ * The file size of each format is printed during setup, so the output shows the
+ * size saved by compression next to the time it costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotFormatBenchmark {
+    @Param({"100000"})
+    private int numTasks;
+
+    @Param({"TEXT", "BINARY", "COMPRESSED"})
+    private SnapshotFormat format;
+
+    private Path directory;
+    private Storage storage;
+    private ArrayList<Task> tasks;
+
+    /**
+     * Builds a mix of task types and saves them once in the format under test.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("allison-bench");
+        String filePath = directory.resolve("tasks").toString();
+        storage = new Storage(filePath, format);
+        storage.setFsyncPolicy(FsyncPolicy.never());
+
+        LocalDateTime start = LocalDateTime.of(2024, 6, 15, 10, 0);
+        tasks = new ArrayList<>();
+        for (int i = 0; i < numTasks; i++) {
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo("read chapter " + i));
+                break;
+            case 1:
+                tasks.add(new Deadline("submit report " + i, start.plusHours(i)));
+                break;
+            default:
+                tasks.add(new Event("team meeting " + i, start.plusHours(i), start.plusHours(i + 2)));
+            }
+        }
+        storage.saveTasks(tasks);
+        System.out.println(format + " snapshot size: " + new File(filePath).length() + " bytes");
+    }
+
+    /**
+     * Removes the snapshot and its directory.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void save() {
+        storage.saveTasks(tasks);
+    }
+
+    @Benchmark
+    public ArrayList<Task> load() {
+        return storage.load();
+    }
+}
@@ -15,20 +15,109 @@ import allison.task.Event;
  */
 public class Allison {
     private static final String FILE_PATH = "data/allison.txt";
+    private static final long FLUSH_INTERVAL_MS = 50;
+    private static final String FSYNC_PROPERTY = "allison.fsync";
+    private static final String DEFAULT_FSYNC_POLICY = "always";
+    private static final String LIST_BACKING_PROPERTY = "allison.list";
+    private static final String UNDO_DEPTH_PROPERTY = "allison.undo";
+    private static final String DEFAULT_UNDO_DEPTH = "0";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final String NEXT_PAGE_ARG = "next";
     private Storage storage;
     private TaskList taskList;
     private Ui ui;
     private Parser parser;
+    private Flusher flusher;
+    private DescriptionPool descriptions;
 
     /**
      * Creates a new Allison application instance and initializes storage,
-     * task list, and UI components.
+     * task list, and UI components. Tasks are parsed lazily as they are touched, and
+     * changes are flushed to disk in the background shortly after each command.
      */
     public Allison() {
-        this.storage = new Storage(FILE_PATH);
+        this(DurabilityMode.TIMED);
+    }
+
+    /**
+     * Creates a new Allison application instance that flushes changes to disk
+     * according to the given durability mode.
+     *
+     * @param durabilityMode When changes are written to disk.
+     */
+    public Allison(DurabilityMode durabilityMode) {
+        this(createDefaultStorage(), durabilityMode);
+    }
+
+    /**
+     * Creates a new Allison application instance that persists tasks with the given storage,
+     * such as a {@link SegmentedStorage}, and flushes changes according to the given durability mode.
+     * The task list is backed by an array unless the {@code allison.list} system property is "tree",
+     * "columnar", "off_heap" or "versioned". If undo is enabled, it is versioned unless the property says otherwise.
+     *
+     * @param storage Storage that tasks are loaded from and saved to.
+     * @param durabilityMode When changes are written to disk.
+     */
+    public Allison(Storage storage, DurabilityMode durabilityMode) {
+        this(storage, durabilityMode, ListBacking.valueOf(System.getProperty(LIST_BACKING_PROPERTY,
+                getUndoDepth() > 0 ? "versioned" : "array").trim().toUpperCase()));
+    }
+
+    /**
+     * Creates a new Allison application instance that persists tasks with the given storage,
+     * flushes changes according to the given durability mode, and keeps tasks in the given backing.
+     * No commands can be undone unless the {@code allison.undo} system property gives how many can,
+     * which needs a versioned backing.
+     *
+     * @param storage Storage that tasks are loaded from and saved to.
+     * @param durabilityMode When changes are written to disk.
+     * @param listBacking Data structure the task list is kept in.
+     * @throws IllegalArgumentException If the undo depth is invalid, or positive with a backing that is not versioned.
+     */
+    public Allison(Storage storage, DurabilityMode durabilityMode, ListBacking listBacking) {
+        int undoDepth = getUndoDepth();
+        if (undoDepth > 0 && listBacking != ListBacking.VERSIONED) {
+            throw new IllegalArgumentException("Undo needs the versioned list backing, not " + listBacking);
+        }
+        this.storage = storage;
         this.ui = new Ui();
-        this.taskList = new TaskList(this.storage.load());
+        LazyTaskList loadedTasks = this.storage.loadLazy();
+        this.taskList = new TaskList(loadedTasks, listBacking);
+        this.taskList.setNextId(this.storage.getNextId());
+        if (this.taskList.getNumTasks() < loadedTasks.size()) {
+            // Unreadable lines were dropped, so the file is rewritten for journaled task numbers to match the list
+            saveTasks();
+        }
+        this.taskList.enableHistory(undoDepth);
         this.parser = new Parser();
+        this.flusher = new Flusher(storage::flush, durabilityMode, FLUSH_INTERVAL_MS);
+        this.descriptions = storage.getDescriptionPool();
+    }
+
+    /**
+     * Returns the number of commands that can be undone, as given by the {@code allison.undo} system property.
+     *
+     * @return The undo depth, 0 if history is off.
+     * @throws IllegalArgumentException If the property is not a number or is negative.
+     */
+    private static int getUndoDepth() {
+        int undoDepth = Integer.parseInt(System.getProperty(UNDO_DEPTH_PROPERTY, DEFAULT_UNDO_DEPTH).trim());
+        if (undoDepth < 0) {
+            throw new IllegalArgumentException("Undo depth cannot be negative: " + undoDepth);
+        }
+        return undoDepth;
+    }
+
+    /**
+     * Returns the storage used by default, whose fsync policy can be chosen per deployment
+     * with the {@code allison.fsync} system property ("always", "never", or a number of saves per fsync).
+     *
+     * @return The default storage.
+     */
+    private static Storage createDefaultStorage() {
+        Storage storage = new Storage(FILE_PATH);
+        storage.setFsyncPolicy(FsyncPolicy.parse(System.getProperty(FSYNC_PROPERTY, DEFAULT_FSYNC_POLICY)));
+        return storage;
     }
 
     /**
@@ -78,6 +167,53 @@ public class Allison {
         return ui.listTasks(this.taskList);
     }
 
+    /**
+     * Returns one page of the task list, so that only that page is rendered however long the list is.
+     * With no arguments, lists everything if it fits on one page and the first page otherwise.
+     * "next" continues from the previous page, staying aligned even if tasks were deleted in between.
+     *
+     * @param args List containing "next", the page number and optional page size, or nothing.
+     * @return String representation of the page.
+     * @throws AllisonException If "next" is given before any page was listed.
+     */
+    public String listTasks(ArrayList<String> args) throws AllisonException {
+        if (args.isEmpty() && taskList.getNumTasks() <= DEFAULT_PAGE_SIZE) {
+            return listTasks();
+        }
+
+        int startIndex;
+        StringBuilder page;
+        if (args.size() == 1 && args.get(0).equals(NEXT_PAGE_ARG)) {
+            startIndex = Math.min(taskList.getCursor() == null ? 0 : taskList.getCursor().getNextIndex(),
+                    taskList.getNumTasks());
+            page = taskList.listNextPage();
+        } else {
+            int pageNum = args.isEmpty() ? 1 : Integer.parseInt(args.get(0));
+            int pageSize = args.size() < 2 ? DEFAULT_PAGE_SIZE : Integer.parseInt(args.get(1));
+            startIndex = (int) Math.min((long) (pageNum - 1) * pageSize, taskList.getNumTasks());
+            taskList.openCursor(startIndex, pageSize);
+            page = taskList.listNextPage();
+        }
+        int endIndex = taskList.getCursor().getNextIndex();
+        return ui.listPage(page, startIndex, endIndex, taskList.getNumTasks());
+    }
+
+    /**
+     * Returns the task number a mark, unmark or delete command refers to, given either as a task number
+     * or as "#id", which is looked up in the task list.
+     *
+     * @param input The raw user input string.
+     * @param commandUsage The correct usage string shown in error messages.
+     * @return The task number (1-based index).
+     * @throws AllisonException If no task has the given ID.
+     */
+    private int parseTaskNum(String input, String commandUsage) throws AllisonException {
+        if (parser.isTaskId(input)) {
+            return taskList.findTaskNum(parser.parseTaskId(input), commandUsage);
+        }
+        return parser.parseTaskNum(input);
+    }
+
     /**
      * Marks the specified task as done.
      *
@@ -87,6 +223,7 @@ public class Allison {
      */
     public String markTask(int taskNum) throws AllisonException {
         Task task = taskList.markTask(taskNum);
+        storage.appendMark(taskNum);
         return ui.markTask(task);
     }
 
@@ -99,6 +236,7 @@ public class Allison {
      */
     public String unmarkTask(int taskNum) throws AllisonException {
         Task task = taskList.unmarkTask(taskNum);
+        storage.appendUnmark(taskNum);
         return ui.unmarkTask(task);
     }
 
@@ -111,9 +249,92 @@ public class Allison {
      */
     public String deleteTask(int taskNum) throws AllisonException {
         Task task = taskList.removeTask(taskNum);
+        storage.appendDelete(taskNum);
         return ui.deleteTask(task, taskList.getNumTasks());
     }
 
+    /**
+     * Marks every task in the given selection as done.
+     *
+     * @param selection The tasks to mark.
+     * @return Confirmation message string.
+     * @throws AllisonException If a task number or ID in the selection is invalid.
+     */
+    public String markTasks(TaskSelection selection) throws AllisonException {
+        int[] taskNums = taskList.resolveSelection(selection, "mark <task numbers>");
+        ArrayList<Task> tasks = taskList.markTasks(taskNums);
+        for (int taskNum : taskNums) {
+            storage.appendMark(taskNum);
+        }
+        return ui.markTasks(tasks);
+    }
+
+    /**
+     * Marks every task in the given selection as not done.
+     *
+     * @param selection The tasks to unmark.
+     * @return Confirmation message string.
+     * @throws AllisonException If a task number or ID in the selection is invalid.
+     */
+    public String unmarkTasks(TaskSelection selection) throws AllisonException {
+        int[] taskNums = taskList.resolveSelection(selection, "unmark <task numbers>");
+        ArrayList<Task> tasks = taskList.unmarkTasks(taskNums);
+        for (int taskNum : taskNums) {
+            storage.appendUnmark(taskNum);
+        }
+        return ui.unmarkTasks(tasks);
+    }
+
+    /**
+     * Deletes every task in the given selection from the task list in a single pass.
+     *
+     * @param selection The tasks to delete.
+     * @return Confirmation message string.
+     * @throws AllisonException If a task number or ID in the selection is invalid.
+     */
+    public String deleteTasks(TaskSelection selection) throws AllisonException {
+        int[] taskNums = taskList.resolveSelection(selection, "delete <task numbers>");
+        ArrayList<Task> tasks = taskList.removeTasks(taskNums);
+        storage.appendDeletes(taskNums);
+        return ui.deleteTasks(tasks, taskList.getNumTasks());
+    }
+
+    /**
+     * Returns the pending deadlines and events that need attention soonest.
+     *
+     * @param count Maximum number of tasks to show.
+     * @return Formatted list of the most urgent tasks.
+     */
+    public String showNextUp(int count) {
+        ArrayList<Task> tasks = taskList.findMostUrgent(count);
+        return ui.showNextUp(tasks);
+    }
+
+    /**
+     * Restores the task list to how it was before the most recent change not yet undone.
+     * The journal refers to task numbers in the list as it was, so a fresh snapshot is saved instead.
+     *
+     * @return Confirmation message string.
+     * @throws AllisonException If there is nothing to undo.
+     */
+    public String undo() throws AllisonException {
+        taskList.undo();
+        saveTasks();
+        return ui.undo(taskList.getNumTasks());
+    }
+
+    /**
+     * Restores the most recently undone change to the task list, saving a fresh snapshot.
+     *
+     * @return Confirmation message string.
+     * @throws AllisonException If there is nothing to redo.
+     */
+    public String redo() throws AllisonException {
+        taskList.redo();
+        saveTasks();
+        return ui.redo(taskList.getNumTasks());
+    }
+
     /**
      * Finds and returns tasks whose descriptions contain the given keyword.
      *
@@ -125,6 +346,80 @@ public class Allison {
         return ui.findTask(tasks);
     }
 
+    /**
+     * Finds and returns tasks whose descriptions contain every given word as a whole word.
+     *
+     * @param query The words to search for.
+     * @return Formatted list of matching tasks.
+     */
+    public String findTaskByWord(String query) {
+        ArrayList<Task> tasks = taskList.findTasksByWord(query);
+        return ui.findTask(tasks);
+    }
+
+    /**
+     * Finds and returns tasks whose descriptions contain every given word, allowing for typos.
+     *
+     * @param query The words to search for.
+     * @return Formatted list of matching tasks.
+     */
+    public String findTaskFuzzy(String query) {
+        ArrayList<Task> tasks = taskList.findTasksFuzzy(query);
+        return ui.findTask(tasks);
+    }
+
+    /**
+     * Finds and returns the deadlines due within the given range.
+     *
+     * @param args List containing the start date-time, empty for no lower bound, and the end date-time.
+     * @return Formatted list of matching deadlines, or an error message string.
+     */
+    public String findDue(ArrayList<String> args) {
+        try {
+            LocalDateTime from = args.get(0).isEmpty() ? LocalDateTime.MIN : LocalDateTime.parse(args.get(0));
+            LocalDateTime to = LocalDateTime.parse(args.get(1));
+            ArrayList<Task> tasks = taskList.findDeadlines(from, to);
+            return ui.findDue(tasks);
+        } catch (DateTimeParseException e) {
+            return ui.errorMessage(e);
+        }
+    }
+
+    /**
+     * Finds and returns the events that overlap the given period.
+     *
+     * @param args List containing the start and end date-time of the period.
+     * @return Formatted list of overlapping events, or an error message string.
+     */
+    public String findEvents(ArrayList<String> args) {
+        try {
+            LocalDateTime from = LocalDateTime.parse(args.get(0));
+            LocalDateTime to = LocalDateTime.parse(args.get(1));
+            ArrayList<Task> tasks = taskList.findEvents(from, to);
+            return ui.findEvents(tasks);
+        } catch (DateTimeParseException e) {
+            return ui.errorMessage(e);
+        }
+    }
+
+    /**
+     * Returns a summary of how many tasks of each type are done, pending and overdue.
+     *
+     * @return Statistics message string.
+     */
+    public String showStats() {
+        return ui.showStats(taskList.getStats(), LocalDateTime.now());
+    }
+
+    /**
+     * Returns a report of how much memory sharing repeated descriptions saves.
+     *
+     * @return Memory report string.
+     */
+    public String showMemory() {
+        return ui.showMemory(descriptions);
+    }
+
     /**
      * Returns the help message listing all available commands.
      *
@@ -141,8 +436,9 @@ public class Allison {
      * @return Confirmation message string.
      */
     public String addTodo(String desc) {
-        Todo todo = new Todo(desc);
+        Todo todo = new Todo(descriptions.intern(desc));
         taskList.addTask(todo);
+        storage.appendAdd(todo);
         return ui.addTask(todo, taskList.getNumTasks());
     }
 
@@ -156,8 +452,9 @@ public class Allison {
     public String addDeadline(String desc, ArrayList<String> args) {
         try {
             LocalDateTime dueDate = LocalDateTime.parse(args.get(0));
-            Deadline deadline = new Deadline(desc, dueDate);
+            Deadline deadline = new Deadline(descriptions.intern(desc), dueDate);
             taskList.addTask(deadline);
+            storage.appendAdd(deadline);
             return ui.addTask(deadline, taskList.getNumTasks());
         } catch (DateTimeParseException e) {
             return ui.errorMessage(e);
@@ -175,25 +472,41 @@ public class Allison {
         try {
             LocalDateTime start = LocalDateTime.parse(args.get(0));
             LocalDateTime end = LocalDateTime.parse(args.get(1));
-            Event event = new Event(desc, start, end);
+            Event event = new Event(descriptions.intern(desc), start, end);
+            ArrayList<Task> conflicts = taskList.findEventConflicts(event);
             taskList.addTask(event);
-            return ui.addTask(event, taskList.getNumTasks());
+            storage.appendAdd(event);
+            return ui.addEvent(event, taskList.getNumTasks(), conflicts);
         } catch (DateTimeParseException e) {
             return ui.errorMessage(e);
         }
     }
 
     /**
-     * Saves all current tasks to persistent storage.
+     * Saves all current tasks to persistent storage as a fresh snapshot,
+     * folding in any mutations journaled since the previous one.
      */
     public void saveTasks() {
-        storage.saveTasks(taskList.getTasks());
+        storage.saveTasks(taskList.getSnapshot());
+        taskList.markClean();
+    }
+
+    /**
+     * Writes all pending changes to disk and stops the background flusher.
+     * Should be called once before the application terminates.
+     */
+    public void shutdown() {
+        flusher.close();
+        storage.close(taskList.getSnapshot());
+        taskList.markClean();
     }
 
 
     /**
      * Processes the user's input and returns the appropriate response.
-     * Parses the command, executes the corresponding action, and saves tasks.
+     * Parses the command and executes the corresponding action. Mutations are journaled
+     * and flushed according to the durability mode; read-only commands write nothing,
+     * and a full snapshot is only written on exit or once the journal grows long.
      *
      * @param input The raw user input string.
      * @return The response message to display to the user.
@@ -206,29 +519,75 @@ public class Allison {
             switch (command) {
             case BYE:
                 botMessage = exitUser();
+                shutdown();
                 break;
             case LIST:
-                botMessage = listTasks();
+                ArrayList<String> listArgs = parser.parseListArgs(input);
+                botMessage = listTasks(listArgs);
                 break;
             case HELP:
                 botMessage = provideHelp();
                 break;
+            case STATS:
+                botMessage = showStats();
+                break;
+            case MEMORY:
+                botMessage = showMemory();
+                break;
             case MARK:
-                int markTaskNum = parser.parseTaskNum(input);
-                botMessage = markTask(markTaskNum);
+                if (parser.isBulkCommand(input)) {
+                    botMessage = markTasks(parser.parseTaskSelection(input));
+                } else {
+                    int markTaskNum = parseTaskNum(input, "mark <task number>");
+                    botMessage = markTask(markTaskNum);
+                }
                 break;
             case UNMARK:
-                int unmarkTaskNum = parser.parseTaskNum(input);
-                botMessage = unmarkTask(unmarkTaskNum);
+                if (parser.isBulkCommand(input)) {
+                    botMessage = unmarkTasks(parser.parseTaskSelection(input));
+                } else {
+                    int unmarkTaskNum = parseTaskNum(input, "unmark <task number>");
+                    botMessage = unmarkTask(unmarkTaskNum);
+                }
                 break;
             case DELETE:
-                int deleteTaskNum = parser.parseTaskNum(input);
-                botMessage = deleteTask(deleteTaskNum);
+                if (parser.isBulkCommand(input)) {
+                    botMessage = deleteTasks(parser.parseTaskSelection(input));
+                } else {
+                    int deleteTaskNum = parseTaskNum(input, "delete <task number>");
+                    botMessage = deleteTask(deleteTaskNum);
+                }
+                break;
+            case NEXTUP:
+                int nextUpCount = parser.parseNextUpCount(input);
+                botMessage = showNextUp(nextUpCount);
+                break;
+            case UNDO:
+                botMessage = undo();
+                break;
+            case REDO:
+                botMessage = redo();
                 break;
             case FIND:
                 String keyword = parser.parseFindKeyword(input);
                 botMessage = findTask(keyword);
                 break;
+            case FINDWORD:
+                String words = parser.parseFindKeyword(input);
+                botMessage = findTaskByWord(words);
+                break;
+            case FUZZY_FIND:
+                String fuzzyWords = parser.parseFindKeyword(input);
+                botMessage = findTaskFuzzy(fuzzyWords);
+                break;
+            case DUE:
+                ArrayList<String> dueArgs = parser.parseDueArgs(input);
+                botMessage = findDue(dueArgs);
+                break;
+            case EVENTS:
+                ArrayList<String> eventsArgs = parser.parseEventsArgs(input);
+                botMessage = findEvents(eventsArgs);
+                break;
             case TODO:
                 String todoDesc = parser.parseTodoDesc(input);
                 botMessage = addTodo(todoDesc);
@@ -249,7 +608,13 @@ public class Allison {
         } catch (Exception e) {
             botMessage = showError(e);
         }
-        saveTasks();
+        if (taskList.isDirty()) {
+            taskList.markClean();
+            flusher.requestFlush();
+        }
+        if (storage.shouldCompact()) {
+            saveTasks();
+        }
         return botMessage;
     }
 
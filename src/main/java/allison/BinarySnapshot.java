@@ -0,0 +1,358 @@
+package allison;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+
+/**
+ * Encodes and decodes tasks in a fixed-layout binary snapshot format.
+ * A snapshot is a header (magic number, version, task count, next task ID) followed by one record
+ * per task: a type byte, a done flag, the task ID, the task's date/times as epoch minutes, and a
+ * length-prefixed UTF-8 description. Decoding reads the fields straight out of a buffer, so a snapshot
+ * file can be loaded without tokenising text or parsing dates.
+ * Version 1 snapshots, written before tasks had IDs, can still be read.
+ */
+public class BinarySnapshot {
+    private static final int MAGIC = 0x414C5342;
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_IDS = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int VERSION_OFFSET = Integer.BYTES;
+    private static final int NEXT_ID_OFFSET = VERSION_OFFSET + Byte.BYTES + Integer.BYTES;
+    private static final int MIN_HEADER_SIZE = NEXT_ID_OFFSET;
+    private static final byte TODO_TYPE = 'T';
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int DONE_OFFSET = Byte.BYTES;
+    private static final int ID_OFFSET = DONE_OFFSET + Byte.BYTES;
+    private static final int DATES_OFFSET = ID_OFFSET + Long.BYTES;
+
+    /**
+     * Returns whether the given buffer starts with a binary snapshot header.
+     * The buffer's position is left unchanged.
+     *
+     * @param buffer Buffer holding the snapshot file content.
+     * @return True if the content is a binary snapshot.
+     */
+    public static boolean isBinary(ByteBuffer buffer) {
+        return buffer.remaining() >= MIN_HEADER_SIZE && buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    /**
+     * Returns the next task ID recorded in the header of a binary snapshot.
+     * The buffer's position is left unchanged.
+     *
+     * @param buffer Buffer positioned at the start of the snapshot.
+     * @return The next task ID, or {@link Task#NO_ID} if the snapshot predates task IDs.
+     */
+    public static long getNextId(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.get(buffer.position() + VERSION_OFFSET) != VERSION) {
+            return Task.NO_ID;
+        }
+        return buffer.getLong(buffer.position() + NEXT_ID_OFFSET);
+    }
+
+    /**
+     * Returns the binary snapshot encoding of the given tasks.
+     *
+     * @param tasks Tasks to encode, in list order.
+     * @param nextId The ID the next added task will get.
+     * @return The encoded snapshot.
+     */
+    public static byte[] encode(List<Task> tasks, long nextId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(tasks.size());
+            out.writeLong(nextId);
+            for (Task task : tasks) {
+                encodeTask(task, out);
+            }
+        } catch (IOException e) {
+            // Writing to an in-memory stream cannot fail
+            throw new AssertionError(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns a buffer holding the header of a binary snapshot of the given number of tasks,
+     * to be followed by that many records.
+     *
+     * @param numTasks Number of task records in the snapshot.
+     * @param nextId The ID the next added task will get.
+     * @return Buffer positioned at the start of the header.
+     */
+    public static ByteBuffer encodeHeader(int numTasks, long nextId) {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION).putInt(numTasks).putLong(nextId).flip();
+    }
+
+    /**
+     * Returns the record encoding of a single task, as it appears in a binary snapshot.
+     *
+     * @param task Task to encode.
+     * @return The encoded record.
+     */
+    public static byte[] encodeTask(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encodeTask(task, out);
+        } catch (IOException e) {
+            // Writing to an in-memory stream cannot fail
+            throw new AssertionError(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the task held in the record at the given offset, leaving the buffer's position unchanged.
+     *
+     * @param buffer Buffer holding the record.
+     * @param offset Absolute offset of the record.
+     * @return The decoded task, or null if the record type is unknown.
+     */
+    public static Task decodeTask(ByteBuffer buffer, int offset) {
+        return decodeTask(buffer.duplicate().position(offset), true, UnaryOperator.identity());
+    }
+
+    /**
+     * Returns the description held in the record at the given offset without decoding the rest of it.
+     *
+     * @param buffer Buffer holding the record.
+     * @param offset Absolute offset of the record.
+     * @return The decoded description, or null if the record type is unknown.
+     */
+    public static String decodeDescription(ByteBuffer buffer, int offset) {
+        int numDates = countDates(buffer.get(offset));
+        if (numDates < 0) {
+            return null;
+        }
+        return decodeDescription(buffer.duplicate().position(offset + DATES_OFFSET + numDates * Long.BYTES));
+    }
+
+    /**
+     * Returns whether the record at the given offset holds a deadline.
+     *
+     * @param buffer Buffer holding the record.
+     * @param offset Absolute offset of the record.
+     * @return True if the record is a deadline.
+     */
+    public static boolean isDeadline(ByteBuffer buffer, int offset) {
+        return buffer.get(offset) == DEADLINE_TYPE;
+    }
+
+    /**
+     * Returns whether the record at the given offset holds an event.
+     *
+     * @param buffer Buffer holding the record.
+     * @param offset Absolute offset of the record.
+     * @return True if the record is an event.
+     */
+    public static boolean isEvent(ByteBuffer buffer, int offset) {
+        return buffer.get(offset) == EVENT_TYPE;
+    }
+
+    /**
+     * Returns one of the date/times held in the record at the given offset without decoding the rest of it.
+     *
+     * @param buffer Buffer holding the record of a deadline or event.
+     * @param offset Absolute offset of the record.
+     * @param dateIndex 0 for the due date/time of a deadline or the start of an event, 1 for the end of an event.
+     * @return The date/time as seconds since the epoch.
+     */
+    public static long decodeEpochSecond(ByteBuffer buffer, int offset, int dateIndex) {
+        return buffer.getLong(offset + DATES_OFFSET + dateIndex * Long.BYTES) * SECONDS_PER_MINUTE;
+    }
+
+    /**
+     * Sets the done flag of the record at the given offset in place.
+     *
+     * @param buffer Buffer holding the record.
+     * @param offset Absolute offset of the record.
+     * @param isDone New done status.
+     */
+    public static void setDone(ByteBuffer buffer, int offset, boolean isDone) {
+        buffer.put(offset + DONE_OFFSET, (byte) (isDone ? 1 : 0));
+    }
+
+    /**
+     * Returns the number of date/times stored in a record of the given type.
+     *
+     * @param type The record type byte.
+     * @return The number of date/times, or -1 if the type is unknown.
+     */
+    private static int countDates(byte type) {
+        switch (type) {
+        case TODO_TYPE:
+            return 0;
+        case DEADLINE_TYPE:
+            return 1;
+        case EVENT_TYPE:
+            return 2;
+        default:
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the tasks decoded from a binary snapshot.
+     * Decoding stops at the first corrupted record, keeping every task before it.
+     *
+     * @param buffer Buffer positioned at the start of the snapshot.
+     * @return List of decoded tasks.
+     */
+    public static ArrayList<Task> decode(ByteBuffer buffer) {
+        return decode(buffer, new DescriptionPool());
+    }
+
+    /**
+     * Returns the tasks decoded from a binary snapshot, with repeated descriptions shared through the given pool.
+     * Decoding stops at the first corrupted record, keeping every task before it.
+     *
+     * @param buffer Buffer positioned at the start of the snapshot.
+     * @param descriptions Pool that decoded descriptions are interned in.
+     * @return List of decoded tasks.
+     */
+    public static ArrayList<Task> decode(ByteBuffer buffer, DescriptionPool descriptions) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try {
+            byte version = buffer.getInt() == MAGIC ? buffer.get() : 0;
+            if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+                System.out.println("Unsupported binary snapshot version");
+                return tasks;
+            }
+            int numTasks = buffer.getInt();
+            boolean hasIds = version == VERSION;
+            if (hasIds) {
+                buffer.getLong();
+            }
+            tasks.ensureCapacity(numTasks);
+            for (int i = 0; i < numTasks; i++) {
+                Task task = decodeTask(buffer, hasIds, descriptions::intern);
+                if (task == null) {
+                    System.out.println("Corrupted binary snapshot at task " + (i + 1));
+                    break;
+                }
+                tasks.add(task);
+            }
+        } catch (BufferUnderflowException e) {
+            System.out.println("Truncated binary snapshot after task " + tasks.size());
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a single task record.
+     *
+     * @param task Task to encode.
+     * @param out Stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void encodeTask(Task task, DataOutputStream out) throws IOException {
+        if (task instanceof Deadline deadline) {
+            out.writeByte(DEADLINE_TYPE);
+            out.writeBoolean(task.isDone());
+            out.writeLong(task.getId());
+            out.writeLong(toEpochMinute(deadline.getDueDate()));
+        } else if (task instanceof Event event) {
+            out.writeByte(EVENT_TYPE);
+            out.writeBoolean(task.isDone());
+            out.writeLong(task.getId());
+            out.writeLong(toEpochMinute(event.getStart()));
+            out.writeLong(toEpochMinute(event.getEnd()));
+        } else {
+            out.writeByte(TODO_TYPE);
+            out.writeBoolean(task.isDone());
+            out.writeLong(task.getId());
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+    }
+
+    /**
+     * Reads a single task record.
+     *
+     * @param buffer Buffer positioned at the start of the record.
+     * @param hasId Whether the record holds a task ID, which version 1 records do not.
+     * @param interner Function mapping the decoded description to the instance the task should hold.
+     * @return The decoded task, or null if the record type is unknown.
+     */
+    private static Task decodeTask(ByteBuffer buffer, boolean hasId, UnaryOperator<String> interner) {
+        byte type = buffer.get();
+        boolean isDone = buffer.get() != 0;
+        long id = hasId ? buffer.getLong() : Task.NO_ID;
+
+        Task task;
+        switch (type) {
+        case TODO_TYPE:
+            task = new Todo(interner.apply(decodeDescription(buffer)));
+            break;
+        case DEADLINE_TYPE:
+            LocalDateTime dueDate = fromEpochMinute(buffer.getLong());
+            task = new Deadline(interner.apply(decodeDescription(buffer)), dueDate);
+            break;
+        case EVENT_TYPE:
+            LocalDateTime start = fromEpochMinute(buffer.getLong());
+            LocalDateTime end = fromEpochMinute(buffer.getLong());
+            task = new Event(interner.apply(decodeDescription(buffer)), start, end);
+            break;
+        default:
+            return null;
+        }
+        task.setIsDone(isDone);
+        task.setId(id);
+        return task;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 description.
+     *
+     * @param buffer Buffer positioned at the length prefix.
+     * @return The decoded description.
+     */
+    private static String decodeDescription(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] description = new byte[length];
+        buffer.get(description);
+        return new String(description, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of whole minutes between the epoch and the given date/time.
+     *
+     * @param dateTime The date/time to convert.
+     * @return Minutes since 1970-01-01T00:00.
+     */
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Returns the date/time the given number of minutes after the epoch.
+     *
+     * @param epochMinute Minutes since 1970-01-01T00:00.
+     * @return The corresponding date/time.
+     */
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,365 @@
+package allison;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+
+/**
+ * Represents a list of tasks stored column by column instead of as one object per task.
+ * Types are kept in a byte array, done flags in a bit set, IDs and dates as epoch seconds in long arrays,
+ * and descriptions side by side in one shared character buffer, costing a few dozen bytes per task
+ * plus its description. Tasks read from the list are freshly built copies, so a changed task must be
+ * written back with {@link #set(int, Task)}, and copies of the same task are never identical objects.
+ * Range and keyword queries scan the columns directly without building any copies.
+ */
+public class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final byte UNREADABLE_TYPE = 0;
+    private static final byte TODO_TYPE = 1;
+    private static final byte DEADLINE_TYPE = 2;
+    private static final byte EVENT_TYPE = 3;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types;
+    private final BitSet doneFlags;
+    private long[] ids;
+    // Due date of a deadline, or start of an event
+    private long[] firstDates;
+    // End of an event
+    private long[] secondDates;
+    private int[] descriptionStarts;
+    private int[] descriptionLengths;
+    private char[] descriptionChars;
+    private int numDescriptionChars;
+    private int numLiveDescriptionChars;
+    private int size;
+
+    /**
+     * Constructs an empty ColumnarTaskList.
+     */
+    public ColumnarTaskList() {
+        this.types = new byte[INITIAL_CAPACITY];
+        this.doneFlags = new BitSet();
+        this.ids = new long[INITIAL_CAPACITY];
+        this.firstDates = new long[INITIAL_CAPACITY];
+        this.secondDates = new long[INITIAL_CAPACITY];
+        this.descriptionStarts = new int[INITIAL_CAPACITY];
+        this.descriptionLengths = new int[INITIAL_CAPACITY];
+        this.descriptionChars = new char[INITIAL_CAPACITY * 16];
+        this.size = 0;
+    }
+
+    /**
+     * Constructs a ColumnarTaskList holding the given tasks in order.
+     * Tasks that could not be read from storage (null) are kept as unreadable rows.
+     *
+     * @param tasks Initial tasks.
+     */
+    public ColumnarTaskList(Collection<? extends Task> tasks) {
+        this();
+        ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns a copy of the task at the given index, built from its columns.
+     *
+     * @param index Index of the task (0-based).
+     * @return The task, or null if it could not be read from storage.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        Task task;
+        switch (types[index]) {
+        case TODO_TYPE:
+            task = new Todo(getDescription(index));
+            break;
+        case DEADLINE_TYPE:
+            task = new Deadline(getDescription(index), toDateTime(firstDates[index]));
+            break;
+        case EVENT_TYPE:
+            task = new Event(getDescription(index), toDateTime(firstDates[index]), toDateTime(secondDates[index]));
+            break;
+        default:
+            return null;
+        }
+        task.setIsDone(doneFlags.get(index));
+        task.setId(ids[index]);
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        writeRow(index, task, previous == null || !previous.getDescription().equals(task.getDescription()));
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        shiftRows(index, 1);
+        size++;
+        // The row still holds a copy of the one shifted out of it
+        descriptionLengths[index] = 0;
+        writeRow(index, task, true);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        numLiveDescriptionChars -= descriptionLengths[index];
+        shiftRows(index + 1, -1);
+        size--;
+        modCount++;
+        if (numDescriptionChars > INITIAL_CAPACITY * 16 && numLiveDescriptionChars < numDescriptionChars / 2) {
+            compactDescriptions();
+        }
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the description of the task at the given index without building the task.
+     *
+     * @param index Index of the task (0-based).
+     * @return The description, or null if the task could not be read from storage.
+     */
+    public String getDescription(int index) {
+        checkIndex(index);
+        if (types[index] == UNREADABLE_TYPE) {
+            return null;
+        }
+        return new String(descriptionChars, descriptionStarts[index], descriptionLengths[index]);
+    }
+
+    /**
+     * Returns the deadlines due within the given range, ordered by due date/time and then by list order.
+     *
+     * @param from Earliest due date/time to include.
+     * @param to Latest due date/time to include.
+     * @return A list of matching deadlines.
+     */
+    public ArrayList<Task> findDeadlines(LocalDateTime from, LocalDateTime to) {
+        long fromSeconds = toEpochSeconds(from);
+        long toSeconds = toEpochSeconds(to);
+        ArrayList<Integer> matchedRows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (types[i] == DEADLINE_TYPE && firstDates[i] >= fromSeconds && firstDates[i] <= toSeconds) {
+                matchedRows.add(i);
+            }
+        }
+        return toTasksSortedByFirstDate(matchedRows);
+    }
+
+    /**
+     * Returns the events that overlap the given period, ordered by start and then by list order.
+     *
+     * @param from Start of the period.
+     * @param to End of the period.
+     * @param isStrict Whether events touching the period only at an endpoint are excluded.
+     * @return A list of overlapping events.
+     */
+    public ArrayList<Task> findEvents(LocalDateTime from, LocalDateTime to, boolean isStrict) {
+        long fromSeconds = toEpochSeconds(from);
+        long toSeconds = toEpochSeconds(to);
+        ArrayList<Integer> matchedRows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (types[i] != EVENT_TYPE) {
+                continue;
+            }
+            boolean isOverlapping = isStrict
+                    ? firstDates[i] < toSeconds && secondDates[i] > fromSeconds
+                    : firstDates[i] <= toSeconds && secondDates[i] >= fromSeconds;
+            if (isOverlapping) {
+                matchedRows.add(i);
+            }
+        }
+        return toTasksSortedByFirstDate(matchedRows);
+    }
+
+    /**
+     * Returns the tasks in the given rows, ordered by their first date column and then by row.
+     *
+     * @param rows Rows to build tasks from, in ascending order.
+     * @return The built tasks.
+     */
+    private ArrayList<Task> toTasksSortedByFirstDate(ArrayList<Integer> rows) {
+        rows.sort(Comparator.comparingLong((Integer row) -> firstDates[row]));
+        ArrayList<Task> tasks = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            tasks.add(get(row));
+        }
+        return tasks;
+    }
+
+    /**
+     * Stores a task into the columns of the given row.
+     *
+     * @param index Index of the row.
+     * @param task Task to store, or null for an unreadable row.
+     * @param isNewDescription Whether the description must be copied into the buffer.
+     * @throws IllegalArgumentException If the task is not a Todo, Deadline or Event.
+     */
+    private void writeRow(int index, Task task, boolean isNewDescription) {
+        if (task == null) {
+            types[index] = UNREADABLE_TYPE;
+            doneFlags.clear(index);
+            ids[index] = Task.NO_ID;
+            numLiveDescriptionChars -= descriptionLengths[index];
+            descriptionLengths[index] = 0;
+            return;
+        }
+
+        if (task instanceof Todo) {
+            types[index] = TODO_TYPE;
+        } else if (task instanceof Deadline deadline) {
+            types[index] = DEADLINE_TYPE;
+            firstDates[index] = toEpochSeconds(deadline.getDueDate());
+        } else if (task instanceof Event event) {
+            types[index] = EVENT_TYPE;
+            firstDates[index] = toEpochSeconds(event.getStart());
+            secondDates[index] = toEpochSeconds(event.getEnd());
+        } else {
+            throw new IllegalArgumentException("Unsupported task type: " + task.getClass().getSimpleName());
+        }
+        doneFlags.set(index, task.isDone());
+        ids[index] = task.getId();
+        if (isNewDescription) {
+            numLiveDescriptionChars -= descriptionLengths[index];
+            appendDescription(index, task.getDescription());
+        }
+    }
+
+    /**
+     * Copies a description to the end of the shared buffer and points the given row at it.
+     *
+     * @param index Index of the row.
+     * @param description The description to copy.
+     */
+    private void appendDescription(int index, String description) {
+        int length = description.length();
+        if (numDescriptionChars + length > descriptionChars.length) {
+            descriptionChars = Arrays.copyOf(descriptionChars,
+                    Math.max(numDescriptionChars + length, descriptionChars.length + (descriptionChars.length >> 1)));
+        }
+        description.getChars(0, length, descriptionChars, numDescriptionChars);
+        descriptionStarts[index] = numDescriptionChars;
+        descriptionLengths[index] = length;
+        numDescriptionChars += length;
+        numLiveDescriptionChars += length;
+    }
+
+    /**
+     * Rewrites the shared buffer with only the descriptions of current rows, dropping those of removed
+     * or replaced tasks.
+     */
+    private void compactDescriptions() {
+        char[] compacted = new char[Math.max(INITIAL_CAPACITY * 16, numLiveDescriptionChars)];
+        int numChars = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(descriptionChars, descriptionStarts[i], compacted, numChars, descriptionLengths[i]);
+            descriptionStarts[i] = numChars;
+            numChars += descriptionLengths[i];
+        }
+        descriptionChars = compacted;
+        numDescriptionChars = numChars;
+    }
+
+    /**
+     * Moves the rows from the given index onwards by the given distance.
+     *
+     * @param from Index of the first row to move.
+     * @param distance Number of positions to move by, negative to move towards the front.
+     */
+    private void shiftRows(int from, int distance) {
+        int numMoved = size - from;
+        System.arraycopy(types, from, types, from + distance, numMoved);
+        System.arraycopy(ids, from, ids, from + distance, numMoved);
+        System.arraycopy(firstDates, from, firstDates, from + distance, numMoved);
+        System.arraycopy(secondDates, from, secondDates, from + distance, numMoved);
+        System.arraycopy(descriptionStarts, from, descriptionStarts, from + distance, numMoved);
+        System.arraycopy(descriptionLengths, from, descriptionLengths, from + distance, numMoved);
+        if (distance > 0) {
+            for (int i = size - 1; i >= from; i--) {
+                doneFlags.set(i + distance, doneFlags.get(i));
+            }
+        } else {
+            for (int i = from; i < size; i++) {
+                doneFlags.set(i + distance, doneFlags.get(i));
+            }
+            doneFlags.clear(size + distance, size);
+        }
+    }
+
+    /**
+     * Grows the row columns to hold at least the given number of rows.
+     *
+     * @param capacity The number of rows needed.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        firstDates = Arrays.copyOf(firstDates, newCapacity);
+        secondDates = Arrays.copyOf(secondDates, newCapacity);
+        descriptionStarts = Arrays.copyOf(descriptionStarts, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+    }
+
+    /**
+     * Checks that an index refers to an existing row.
+     *
+     * @param index Index of the row.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns the date/time as seconds since the epoch, ignoring any fraction of a second.
+     *
+     * @param dateTime The date/time.
+     * @return The number of seconds.
+     */
+    private static long toEpochSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the date/time the given number of seconds after the epoch.
+     *
+     * @param epochSeconds The number of seconds.
+     * @return The date/time.
+     */
+    private static LocalDateTime toDateTime(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+}
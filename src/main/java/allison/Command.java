@@ -13,5 +13,14 @@ public enum Command {
     UNMARK,
     DELETE,
     FIND,
-    HELP
+    FINDWORD,
+    FUZZY_FIND,
+    DUE,
+    EVENTS,
+    HELP,
+    STATS,
+    MEMORY,
+    UNDO,
+    REDO,
+    NEXTUP
 }
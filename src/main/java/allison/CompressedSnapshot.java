@@ -0,0 +1,142 @@
+package allison;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses and decompresses snapshots as a sequence of independently deflated blocks.
+ * A compressed snapshot is a header (magic number, version) followed by blocks, each holding its
+ * uncompressed length, compressed length and deflated bytes. Blocks end on line boundaries,
+ * so any block can be located by skipping the ones before it and inflated into whole lines on its own.
+ */
+public class CompressedSnapshot {
+    private static final int MAGIC = 0x414C535A;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final byte NEWLINE = '\n';
+
+    /**
+     * Returns whether the given buffer starts with a compressed snapshot header.
+     * The buffer's position is left unchanged.
+     *
+     * @param buffer Buffer holding the snapshot file content.
+     * @return True if the content is a compressed snapshot.
+     */
+    public static boolean isCompressed(ByteBuffer buffer) {
+        return buffer.remaining() >= HEADER_SIZE && buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    /**
+     * Returns the compressed form of an encoded snapshot.
+     *
+     * @param snapshot The uncompressed snapshot.
+     * @return The compressed snapshot.
+     */
+    public static byte[] encode(byte[] snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater();
+        byte[] compressed = new byte[BLOCK_SIZE];
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            int start = 0;
+            while (start < snapshot.length) {
+                int end = findBlockEnd(snapshot, start);
+                deflater.reset();
+                deflater.setInput(snapshot, start, end - start);
+                deflater.finish();
+                ByteArrayOutputStream block = new ByteArrayOutputStream();
+                while (!deflater.finished()) {
+                    block.write(compressed, 0, deflater.deflate(compressed));
+                }
+                out.writeInt(end - start);
+                out.writeInt(block.size());
+                block.writeTo(out);
+                start = end;
+            }
+        } catch (IOException e) {
+            // Writing to an in-memory stream cannot fail
+            throw new AssertionError(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the uncompressed snapshot held in a compressed snapshot.
+     * Decompression stops at the first corrupted block, keeping every block before it.
+     *
+     * @param buffer Buffer positioned at the start of the compressed snapshot.
+     * @return Buffer holding the uncompressed snapshot.
+     */
+    public static ByteBuffer decode(ByteBuffer buffer) {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            System.out.println("Unsupported compressed snapshot version");
+            return ByteBuffer.allocate(0);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            while (buffer.hasRemaining()) {
+                snapshot.writeBytes(decodeBlock(buffer, inflater));
+            }
+        } catch (BufferUnderflowException | DataFormatException e) {
+            System.out.println("Corrupted compressed snapshot after " + snapshot.size() + " bytes");
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(snapshot.toByteArray());
+    }
+
+    /**
+     * Returns the uncompressed content of the block at the buffer's position and advances past it.
+     *
+     * @param buffer Buffer positioned at the start of a block.
+     * @param inflater Inflater to decompress with.
+     * @return The uncompressed block, made up of whole lines.
+     * @throws DataFormatException If the block is corrupted.
+     */
+    private static byte[] decodeBlock(ByteBuffer buffer, Inflater inflater) throws DataFormatException {
+        int uncompressedLength = buffer.getInt();
+        int compressedLength = buffer.getInt();
+        if (uncompressedLength < 0 || compressedLength < 0 || compressedLength > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        ByteBuffer compressed = buffer.slice(buffer.position(), compressedLength);
+        buffer.position(buffer.position() + compressedLength);
+        byte[] block = new byte[uncompressedLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        if (inflater.inflate(block) != uncompressedLength || !inflater.finished()) {
+            throw new DataFormatException("Block length mismatch");
+        }
+        return block;
+    }
+
+    /**
+     * Returns the index just past the first newline at or after one block size from the start,
+     * or the end of the snapshot if there is none.
+     *
+     * @param snapshot The uncompressed snapshot.
+     * @param start Index at which the block starts.
+     * @return The exclusive end index of the block.
+     */
+    private static int findBlockEnd(byte[] snapshot, int start) {
+        for (int i = Math.min(start + BLOCK_SIZE, snapshot.length) - 1; i < snapshot.length; i++) {
+            if (snapshot[i] == NEWLINE) {
+                return i + 1;
+            }
+        }
+        return snapshot.length;
+    }
+}
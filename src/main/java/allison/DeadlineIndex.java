@@ -0,0 +1,61 @@
+package allison;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.TreeMap;
+
+import allison.task.Deadline;
+import allison.task.Task;
+
+/**
+ * Represents an index of Deadline tasks sorted by due date/time, so the deadlines due within
+ * a range are found in O(log n + k) time. Tasks of other types are ignored.
+ */
+public class DeadlineIndex implements TaskIndex {
+    private final TreeMap<LocalDateTime, ArrayList<Task>> deadlinesByDueDate = new TreeMap<>();
+
+    @Override
+    public void add(Task task) {
+        if (task instanceof Deadline deadline) {
+            deadlinesByDueDate.computeIfAbsent(deadline.getDueDate(), key -> new ArrayList<>(1)).add(task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (!(task instanceof Deadline deadline)) {
+            return;
+        }
+        ArrayList<Task> deadlines = deadlinesByDueDate.get(deadline.getDueDate());
+        if (deadlines == null) {
+            return;
+        }
+        for (int i = deadlines.size() - 1; i >= 0; i--) {
+            if (TaskIndex.isSameTask(deadlines.get(i), task)) {
+                deadlines.remove(i);
+                break;
+            }
+        }
+        if (deadlines.isEmpty()) {
+            deadlinesByDueDate.remove(deadline.getDueDate());
+        }
+    }
+
+    /**
+     * Returns the deadlines due within the given range, ordered by due date/time and then by list order.
+     *
+     * @param from Earliest due date/time to include.
+     * @param to Latest due date/time to include.
+     * @return A list of matching deadlines, empty if the range is reversed.
+     */
+    public ArrayList<Task> find(LocalDateTime from, LocalDateTime to) {
+        ArrayList<Task> matchedTasks = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return matchedTasks;
+        }
+        for (ArrayList<Task> deadlines : deadlinesByDueDate.subMap(from, true, to, true).values()) {
+            matchedTasks.addAll(deadlines);
+        }
+        return matchedTasks;
+    }
+}
@@ -0,0 +1,97 @@
+package allison;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a dictionary of task descriptions that hands out one shared String per distinct text,
+ * so that tasks repeating a description ("standup", "review PR") hold the same object and memory
+ * grows with the amount of unique text rather than with the number of tasks.
+ * Safe to use from the worker threads that parse a snapshot in parallel.
+ * Descriptions are kept for the lifetime of the pool, even once no task uses them.
+ */
+public class DescriptionPool {
+    // Approximate sizes on a 64-bit JVM with compressed references, see JEP 254 for the array layout
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int ALIGNMENT = 8;
+    private static final char MAX_LATIN1_CHAR = 0xFF;
+
+    private final ConcurrentHashMap<String, String> descriptions;
+    private final LongAdder numLookups;
+    private final LongAdder bytesSaved;
+
+    /**
+     * Constructs an empty DescriptionPool.
+     */
+    public DescriptionPool() {
+        this.descriptions = new ConcurrentHashMap<>();
+        this.numLookups = new LongAdder();
+        this.bytesSaved = new LongAdder();
+    }
+
+    /**
+     * Returns the shared instance of the given description, adding it to the pool if it is new.
+     *
+     * @param description The description, which may be discarded in favour of the returned one.
+     * @return A String equal to the description.
+     */
+    public String intern(String description) {
+        numLookups.increment();
+        String shared = descriptions.putIfAbsent(description, description);
+        if (shared == null) {
+            return description;
+        }
+        if (shared != description) {
+            bytesSaved.add(estimateSize(description));
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the number of distinct descriptions in the pool.
+     *
+     * @return The number of unique descriptions.
+     */
+    public int getNumUnique() {
+        return descriptions.size();
+    }
+
+    /**
+     * Returns the number of descriptions that have been passed through the pool.
+     *
+     * @return The number of lookups.
+     */
+    public long getNumLookups() {
+        return numLookups.sum();
+    }
+
+    /**
+     * Returns an estimate of the heap saved by sharing descriptions, i.e. the size of every
+     * duplicate String that was replaced by the pooled one.
+     *
+     * @return The estimated number of bytes saved.
+     */
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Returns the approximate heap size of a String, including its backing array.
+     * Strings whose characters all fit in Latin-1 are stored compactly with one byte per character.
+     *
+     * @param text The string to measure.
+     * @return The estimated size in bytes.
+     */
+    private static long estimateSize(String text) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > MAX_LATIN1_CHAR) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long arrayBytes = ARRAY_HEADER_BYTES + (long) text.length() * bytesPerChar;
+        return STRING_BYTES + (arrayBytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,13 @@
+package allison;
+
+/**
+ * Represents how soon task mutations are written to disk after a command completes.
+ */
+public enum DurabilityMode {
+    /** Writes before the command's response is returned. */
+    SYNC,
+    /** Writes on a background thread shortly after the command, coalescing bursts into one write. */
+    TIMED,
+    /** Writes only when the application exits. */
+    ON_EXIT
+}
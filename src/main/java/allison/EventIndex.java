@@ -0,0 +1,266 @@
+package allison;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+import allison.task.Event;
+import allison.task.Task;
+
+/**
+ * Represents an interval tree over the time periods of Event tasks. Events are kept in a treap
+ * ordered by start date/time, and every node records the latest end date/time in its subtree,
+ * so whole subtrees that end before a query period are skipped. Finding the events that overlap
+ * a period takes O(log n + k) expected time. Tasks of other types are ignored.
+ */
+public class EventIndex implements TaskIndex {
+    private final Random random = new Random();
+    // Breaks ties between events with the same start, so each event has a unique position
+    private final IdentityHashMap<Task, Long> sequenceNumbers = new IdentityHashMap<>();
+    // Finds the indexed version of a task with an ID, which a versioned list may since have replaced with a copy
+    private final HashMap<Long, Task> tasksById = new HashMap<>();
+    private long nextSequenceNumber;
+    private Node root;
+
+    /**
+     * Represents a node holding one event, with the latest end date/time in its subtree.
+     */
+    private static class Node {
+        private final Event event;
+        private final long sequenceNumber;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Event event, long sequenceNumber, int priority) {
+            this.event = event;
+            this.sequenceNumber = sequenceNumber;
+            this.priority = priority;
+            this.maxEnd = event.getEnd();
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task instanceof Event event && !sequenceNumbers.containsKey(task)) {
+            long sequenceNumber = nextSequenceNumber++;
+            sequenceNumbers.put(task, sequenceNumber);
+            if (task.getId() != Task.NO_ID) {
+                tasksById.put(task.getId(), task);
+            }
+            root = insert(root, new Node(event, sequenceNumber, random.nextInt()));
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        Task indexedTask = task;
+        if (!sequenceNumbers.containsKey(task) && task.getId() != Task.NO_ID) {
+            indexedTask = tasksById.get(task.getId());
+        }
+        Long sequenceNumber = indexedTask == null ? null : sequenceNumbers.remove(indexedTask);
+        if (sequenceNumber != null) {
+            tasksById.remove(indexedTask.getId());
+            root = delete(root, (Event) indexedTask, sequenceNumber);
+        }
+    }
+
+    /**
+     * Returns the events whose periods share any moment with the given period, ordered by start.
+     * Both periods include their endpoints.
+     *
+     * @param from Start of the period.
+     * @param to End of the period.
+     * @return A list of overlapping events.
+     */
+    public ArrayList<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        ArrayList<Task> matchedTasks = new ArrayList<>();
+        collectOverlapping(root, from, to, false, matchedTasks);
+        return matchedTasks;
+    }
+
+    /**
+     * Returns the events that clash with the given event, ordered by start.
+     * Events that merely touch, with one ending as the other starts, do not clash.
+     *
+     * @param event The event to check.
+     * @return A list of clashing events, excluding the event itself.
+     */
+    public ArrayList<Task> findConflicts(Event event) {
+        ArrayList<Task> matchedTasks = new ArrayList<>();
+        collectOverlapping(root, event.getStart(), event.getEnd(), true, matchedTasks);
+        matchedTasks.removeIf(task -> TaskIndex.isSameTask(task, event));
+        return matchedTasks;
+    }
+
+    /**
+     * Adds the events in a subtree that overlap the given period to the list, in start order.
+     *
+     * @param node Root of the subtree.
+     * @param from Start of the period.
+     * @param to End of the period.
+     * @param isStrict Whether events touching the period only at an endpoint are excluded.
+     * @param matchedTasks List to add overlapping events to.
+     */
+    private void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to, boolean isStrict,
+            ArrayList<Task> matchedTasks) {
+        if (node == null || endsBefore(node.maxEnd, from, isStrict)) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, isStrict, matchedTasks);
+        if (startsAfter(node.event.getStart(), to, isStrict)) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (!endsBefore(node.event.getEnd(), from, isStrict)) {
+            matchedTasks.add(node.event);
+        }
+        collectOverlapping(node.right, from, to, isStrict, matchedTasks);
+    }
+
+    /**
+     * Returns whether a period ending at the given time finishes before the query period begins.
+     *
+     * @param end End of the period.
+     * @param from Start of the query period.
+     * @param isStrict Whether ending exactly at the start counts as finishing before it.
+     * @return True if the period cannot overlap the query period.
+     */
+    private static boolean endsBefore(LocalDateTime end, LocalDateTime from, boolean isStrict) {
+        return isStrict ? !end.isAfter(from) : end.isBefore(from);
+    }
+
+    /**
+     * Returns whether a period starting at the given time begins after the query period ends.
+     *
+     * @param start Start of the period.
+     * @param to End of the query period.
+     * @param isStrict Whether starting exactly at the end counts as beginning after it.
+     * @return True if the period cannot overlap the query period.
+     */
+    private static boolean startsAfter(LocalDateTime start, LocalDateTime to, boolean isStrict) {
+        return isStrict ? !start.isBefore(to) : start.isAfter(to);
+    }
+
+    /**
+     * Returns the root of the given subtree after inserting a node, rotating it upwards
+     * while its priority is higher than its parent's.
+     *
+     * @param node Root of the subtree.
+     * @param newNode Node to insert.
+     * @return The new root of the subtree.
+     */
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compare(newNode.event, newNode.sequenceNumber, node) < 0) {
+            node.left = insert(node.left, newNode);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, newNode);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        updateMaxEnd(node);
+        return node;
+    }
+
+    /**
+     * Returns the root of the given subtree after removing the node holding the given event,
+     * rotating it downwards until it is a leaf.
+     *
+     * @param node Root of the subtree.
+     * @param event Event to remove.
+     * @param sequenceNumber Sequence number of the event.
+     * @return The new root of the subtree.
+     */
+    private Node delete(Node node, Event event, long sequenceNumber) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(event, sequenceNumber, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, event, sequenceNumber);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, event, sequenceNumber);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, event, sequenceNumber);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, event, sequenceNumber);
+        }
+        updateMaxEnd(node);
+        return node;
+    }
+
+    /**
+     * Returns the order of an event relative to the event held by a node.
+     *
+     * @param event The event to compare.
+     * @param sequenceNumber Sequence number of the event.
+     * @param node The node to compare against.
+     * @return A negative, zero or positive value as the event comes before, at or after the node.
+     */
+    private static int compare(Event event, long sequenceNumber, Node node) {
+        int comparison = event.getStart().compareTo(node.event.getStart());
+        return comparison != 0 ? comparison : Long.compare(sequenceNumber, node.sequenceNumber);
+    }
+
+    /**
+     * Returns the left child of a node after rotating it into the node's place.
+     *
+     * @param node The node to rotate down.
+     * @return The new root of the subtree.
+     */
+    private static Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        updateMaxEnd(node);
+        updateMaxEnd(newRoot);
+        return newRoot;
+    }
+
+    /**
+     * Returns the right child of a node after rotating it into the node's place.
+     *
+     * @param node The node to rotate down.
+     * @return The new root of the subtree.
+     */
+    private static Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        updateMaxEnd(node);
+        updateMaxEnd(newRoot);
+        return newRoot;
+    }
+
+    /**
+     * Recomputes the latest end date/time in a node's subtree from its children.
+     *
+     * @param node The node to update.
+     */
+    private static void updateMaxEnd(Node node) {
+        LocalDateTime maxEnd = node.event.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+}
@@ -0,0 +1,99 @@
+package allison;
+
+/**
+ * Runs a flush action according to a {@link DurabilityMode}, decoupling command latency from disk latency.
+ * In timed mode, a dedicated background thread waits for a short interval after the first request
+ * so that a burst of requests is coalesced into a single flush.
+ */
+public class Flusher {
+    private final Runnable flushAction;
+    private final DurabilityMode mode;
+    private final long intervalMs;
+    private Thread flushThread;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+
+    /**
+     * Constructs a Flusher that runs the given action under the given durability mode.
+     *
+     * @param flushAction Action that writes pending changes to disk.
+     * @param mode Durability mode deciding when the action runs.
+     * @param intervalMs Maximum delay in milliseconds between a request and its flush in timed mode.
+     */
+    public Flusher(Runnable flushAction, DurabilityMode mode, long intervalMs) {
+        this.flushAction = flushAction;
+        this.mode = mode;
+        this.intervalMs = intervalMs;
+        if (mode == DurabilityMode.TIMED) {
+            this.flushThread = new Thread(this::runFlushLoop, "allison-flusher");
+            this.flushThread.setDaemon(true);
+            this.flushThread.start();
+        }
+    }
+
+    /**
+     * Requests that pending changes be flushed according to the durability mode.
+     */
+    public void requestFlush() {
+        synchronized (this) {
+            if (mode == DurabilityMode.TIMED && !isClosed) {
+                isFlushRequested = true;
+                notifyAll();
+                return;
+            }
+        }
+        if (mode == DurabilityMode.SYNC || isClosed) {
+            flushAction.run();
+        }
+    }
+
+    /**
+     * Stops the background thread, if any, and flushes all pending changes.
+     * Requests made after closing are flushed synchronously.
+     */
+    public void close() {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        if (flushThread != null) {
+            try {
+                flushThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAction.run();
+    }
+
+    /**
+     * Waits for flush requests and runs the flush action at most once per interval until closed.
+     */
+    private void runFlushLoop() {
+        while (true) {
+            synchronized (this) {
+                while (!isFlushRequested && !isClosed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (isClosed) {
+                    return;
+                }
+            }
+
+            try {
+                Thread.sleep(intervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            synchronized (this) {
+                isFlushRequested = false;
+            }
+            flushAction.run();
+        }
+    }
+}
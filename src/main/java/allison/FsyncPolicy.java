@@ -0,0 +1,84 @@
+package allison;
+
+/**
+ * Represents how often saved data is forced to the storage device with an fsync.
+ * Forcing guarantees a save survives a power loss but can cost milliseconds per save.
+ */
+public class FsyncPolicy {
+    private static final String ALWAYS_VALUE = "always";
+    private static final String NEVER_VALUE = "never";
+
+    private final int interval;
+    private int numSaves;
+
+    /**
+     * Constructs a policy that forces every given number of saves, or never if the interval is 0.
+     *
+     * @param interval Number of saves per fsync.
+     */
+    private FsyncPolicy(int interval) {
+        assert interval >= 0;
+        this.interval = interval;
+        this.numSaves = 0;
+    }
+
+    /**
+     * Returns a policy that forces every save.
+     *
+     * @return The policy.
+     */
+    public static FsyncPolicy always() {
+        return new FsyncPolicy(1);
+    }
+
+    /**
+     * Returns a policy that never forces, leaving write-back to the operating system.
+     *
+     * @return The policy.
+     */
+    public static FsyncPolicy never() {
+        return new FsyncPolicy(0);
+    }
+
+    /**
+     * Returns a policy that forces every {@code n}th save.
+     *
+     * @param n Number of saves per fsync.
+     * @return The policy.
+     */
+    public static FsyncPolicy everyNSaves(int n) {
+        return new FsyncPolicy(n);
+    }
+
+    /**
+     * Returns the policy described by the given value: "always", "never", or a number of saves per fsync.
+     *
+     * @param value The policy description.
+     * @return The policy.
+     * @throws IllegalArgumentException If the value is not a valid policy.
+     */
+    public static FsyncPolicy parse(String value) {
+        switch (value.trim().toLowerCase()) {
+        case ALWAYS_VALUE:
+            return always();
+        case NEVER_VALUE:
+            return never();
+        default:
+            int n = Integer.parseInt(value.trim());
+            if (n < 1) {
+                throw new IllegalArgumentException("Saves per fsync must be positive: " + value);
+            }
+            return everyNSaves(n);
+        }
+    }
+
+    /**
+     * Counts a save and returns whether it should be forced to the storage device.
+     *
+     * @return True if the save should be followed by an fsync.
+     */
+    public synchronized boolean shouldForce() {
+        numSaves++;
+        return interval > 0 && numSaves % interval == 0;
+    }
+}
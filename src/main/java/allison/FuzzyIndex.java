@@ -0,0 +1,251 @@
+package allison;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.TreeMap;
+
+import allison.task.Task;
+
+/**
+ * Represents an index for finding tasks by words spelt approximately like the words of a query.
+ * Each distinct word in the task descriptions is posted to the tasks containing it, as in a
+ * {@link KeywordIndex}, and kept in a BK-tree ordered by edit distance. By the triangle inequality,
+ * a search only descends into the subtrees whose distance from a node is within the allowed distance of
+ * the query's, so it computes the edit distance to a small fraction of the dictionary rather than every word.
+ * Words no longer in any description stay in the tree until they outnumber the live ones, then it is rebuilt.
+ * Posting lists are keyed by {@link TaskSequence} numbers, so matches come out in list order.
+ */
+public class FuzzyIndex implements TaskIndex {
+    private final HashMap<String, LinkedHashMap<Long, Task>> postings = new HashMap<>();
+    private final TaskSequence sequence = new TaskSequence();
+    private Node root;
+    private int numNodes;
+
+    /**
+     * Represents a word in the BK-tree, with its children indexed by their edit distance from it.
+     */
+    private static class Node {
+        private final String word;
+        private Node[] children = new Node[0];
+
+        /**
+         * Constructs a Node holding the given word.
+         *
+         * @param word The word.
+         */
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        ArrayList<String> words = KeywordIndex.tokenize(task.getDescription());
+        if (words.isEmpty()) {
+            return;
+        }
+        long sequenceNumber = sequence.add(task);
+        for (String word : words) {
+            LinkedHashMap<Long, Task> posting = postings.computeIfAbsent(word, key -> new LinkedHashMap<>(2));
+            if (posting.isEmpty()) {
+                insert(word);
+            }
+            // A word repeated in one description is only posted once
+            posting.put(sequenceNumber, task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        long sequenceNumber = sequence.remove(task);
+        if (sequenceNumber < 0) {
+            return;
+        }
+        for (String word : KeywordIndex.tokenize(task.getDescription())) {
+            LinkedHashMap<Long, Task> posting = postings.get(word);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(sequenceNumber);
+            if (posting.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+        if (numNodes > 2 * postings.size()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions hold, for every word of the query, a word within
+     * {@link #getMaxDistance(String)} edits of it, in list order.
+     *
+     * @param query One or more words to look up.
+     * @return A list of matching tasks, empty if the query holds no words.
+     */
+    public ArrayList<Task> find(String query) {
+        ArrayList<String> queryWords = KeywordIndex.tokenize(query);
+        if (queryWords.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        HashMap<Long, Task> matchedTasks = null;
+        for (String queryWord : queryWords) {
+            HashMap<Long, Task> wordMatches = new HashMap<>();
+            ArrayList<String> similarWords = new ArrayList<>();
+            search(root, queryWord, getMaxDistance(queryWord), similarWords);
+            for (String word : similarWords) {
+                LinkedHashMap<Long, Task> posting = postings.get(word);
+                if (posting != null) {
+                    wordMatches.putAll(posting);
+                }
+            }
+            if (matchedTasks != null) {
+                wordMatches.keySet().retainAll(matchedTasks.keySet());
+            }
+            matchedTasks = wordMatches;
+            if (matchedTasks.isEmpty()) {
+                break;
+            }
+        }
+
+        // Sequence numbers follow list order
+        return new ArrayList<>(new TreeMap<>(matchedTasks).values());
+    }
+
+    /**
+     * Returns whether some word of a description is within {@link #getMaxDistance(String)} edits
+     * of every word of a query, by computing the edit distance to each word in turn.
+     *
+     * @param description The description to check.
+     * @param queryWords The lowercased query words, as returned by {@link KeywordIndex#tokenize(String)}.
+     * @return True if the description matches the query.
+     */
+    public static boolean matches(String description, ArrayList<String> queryWords) {
+        ArrayList<String> words = KeywordIndex.tokenize(description);
+        for (String queryWord : queryWords) {
+            int maxDistance = getMaxDistance(queryWord);
+            boolean isMatched = false;
+            for (String word : words) {
+                if (getEditDistance(queryWord, word) <= maxDistance) {
+                    isMatched = true;
+                    break;
+                }
+            }
+            if (!isMatched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the largest number of edits a word may be from a query word and still match it.
+     * Short words allow fewer edits, since a couple of edits can turn them into almost any other short word.
+     *
+     * @param queryWord The query word.
+     * @return 0 for words of up to 2 characters, 1 for up to 5, and 2 for longer ones.
+     */
+    public static int getMaxDistance(String queryWord) {
+        if (queryWord.length() <= 2) {
+            return 0;
+        } else if (queryWord.length() <= 5) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words: the fewest single-character insertions,
+     * deletions and substitutions turning one into the other.
+     *
+     * @param first The first word.
+     * @param second The second word.
+     * @return The edit distance.
+     */
+    public static int getEditDistance(String first, String second) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitutionCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(previousRow[j - 1] + substitutionCost,
+                        Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+            int[] row = previousRow;
+            previousRow = currentRow;
+            currentRow = row;
+        }
+        return previousRow[second.length()];
+    }
+
+    /**
+     * Adds a word to the BK-tree unless it is already there.
+     *
+     * @param word The word to add.
+     */
+    private void insert(String word) {
+        if (root == null) {
+            root = new Node(word);
+            numNodes++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = getEditDistance(word, node.word);
+            if (distance == 0) {
+                return;
+            }
+            if (distance >= node.children.length) {
+                node.children = Arrays.copyOf(node.children, distance + 1);
+            }
+            if (node.children[distance] == null) {
+                node.children[distance] = new Node(word);
+                numNodes++;
+                return;
+            }
+            node = node.children[distance];
+        }
+    }
+
+    /**
+     * Collects the words in a subtree within the given edit distance of a query word,
+     * skipping children too far from their parent to hold any.
+     *
+     * @param node Root of the subtree, or null.
+     * @param queryWord The query word.
+     * @param maxDistance Largest edit distance to collect.
+     * @param similarWords The list to add the words found to.
+     */
+    private static void search(Node node, String queryWord, int maxDistance, ArrayList<String> similarWords) {
+        if (node == null) {
+            return;
+        }
+        int distance = getEditDistance(queryWord, node.word);
+        if (distance <= maxDistance) {
+            similarWords.add(node.word);
+        }
+        int last = Math.min(distance + maxDistance, node.children.length - 1);
+        for (int i = Math.max(1, distance - maxDistance); i <= last; i++) {
+            search(node.children[i], queryWord, maxDistance, similarWords);
+        }
+    }
+
+    /**
+     * Rebuilds the BK-tree from the words still posted, dropping those no longer in any description.
+     */
+    private void rebuild() {
+        root = null;
+        numNodes = 0;
+        for (String word : postings.keySet()) {
+            insert(word);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package allison;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an append-only log of task mutations recorded since the last snapshot was saved.
+ * The first line of the log holds the checksum of the snapshot it applies to, so a log left
+ * behind by an interrupted compaction is recognised as stale and never replayed twice.
+ */
+public class Journal {
+    private static final String HEADER_PREFIX = "S|";
+
+    private final String filePath;
+    private final SaveTimer saveTimer;
+    private int numRecords;
+
+    /**
+     * Constructs a Journal that appends to the specified file path.
+     *
+     * @param filePath File path of the log.
+     * @param saveTimer Timer that appends are recorded in.
+     */
+    public Journal(String filePath, SaveTimer saveTimer) {
+        this.filePath = filePath;
+        this.saveTimer = saveTimer;
+        this.numRecords = 0;
+    }
+
+    /**
+     * Appends a batch of records to the log in a single write,
+     * writing the snapshot header first if the log is new.
+     *
+     * @param records Records to append, in order.
+     * @param snapshotChecksum Checksum of the snapshot the records apply to.
+     * @param isForced Whether to force the appended records to the storage device.
+     * @throws IOException If the log cannot be written.
+     */
+    public void append(List<String> records, long snapshotChecksum, boolean isForced) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        File file = new File(filePath);
+        StringBuilder lines = new StringBuilder();
+        if (!file.exists()) {
+            lines.append(HEADER_PREFIX).append(Long.toHexString(snapshotChecksum)).append(System.lineSeparator());
+        }
+        for (String record : records) {
+            lines.append(record).append(System.lineSeparator());
+        }
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            long writeStart = System.nanoTime();
+            out.write(lines.toString().getBytes());
+            long forceStart = System.nanoTime();
+            if (isForced) {
+                out.getChannel().force(false);
+            }
+            long forceEnd = System.nanoTime();
+            saveTimer.record(forceStart - writeStart, isForced ? forceEnd - forceStart : 0, 0);
+        }
+        numRecords += records.size();
+    }
+
+    /**
+     * Returns the records in the log if it applies to the snapshot with the given checksum.
+     * A log written against a different snapshot is stale and yields no records.
+     *
+     * @param snapshotChecksum Checksum of the snapshot that was just loaded.
+     * @return Records in the order they were appended.
+     */
+    public ArrayList<String> readRecords(long snapshotChecksum) {
+        ArrayList<String> records = new ArrayList<>();
+        File file = new File(filePath);
+        if (!file.exists()) {
+            numRecords = 0;
+            return records;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(file.toPath(), Charset.defaultCharset());
+            String expectedHeader = HEADER_PREFIX + Long.toHexString(snapshotChecksum);
+            if (lines.isEmpty() || !lines.get(0).equals(expectedHeader)) {
+                System.out.println("Discarding stale journal: " + filePath);
+                clear();
+                return records;
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                if (!line.isEmpty()) {
+                    records.add(line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to read journal: " + filePath);
+        }
+        numRecords = records.size();
+        return records;
+    }
+
+    /**
+     * Deletes the log, typically after its records have been folded into a new snapshot.
+     */
+    public void clear() {
+        File file = new File(filePath);
+        if (file.exists() && !file.delete()) {
+            System.out.println("Failed to clear journal: " + filePath);
+        }
+        numRecords = 0;
+    }
+
+    /**
+     * Returns the number of records appended since the log was last cleared.
+     *
+     * @return The number of records in the log.
+     */
+    public int getNumRecords() {
+        return numRecords;
+    }
+}
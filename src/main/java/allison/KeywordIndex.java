@@ -0,0 +1,112 @@
+package allison;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import allison.task.Task;
+
+/**
+ * Represents an inverted index from the words in task descriptions to the tasks containing them.
+ * Words are maximal runs of letters and digits, compared case-insensitively. Each posting list
+ * holds its tasks in list order, keyed by their {@link TaskSequence} numbers, so a lookup costs time
+ * proportional to the number of matches, and a task is added or removed in O(1) time per word.
+ */
+public class KeywordIndex implements TaskIndex {
+    private final HashMap<String, LinkedHashMap<Long, Task>> postings = new HashMap<>();
+    private final TaskSequence sequence = new TaskSequence();
+
+    @Override
+    public void add(Task task) {
+        ArrayList<String> words = tokenize(task.getDescription());
+        if (words.isEmpty()) {
+            return;
+        }
+        long sequenceNumber = sequence.add(task);
+        for (String word : words) {
+            // A word repeated in one description is only posted once
+            postings.computeIfAbsent(word, key -> new LinkedHashMap<>(2)).put(sequenceNumber, task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        long sequenceNumber = sequence.remove(task);
+        if (sequenceNumber < 0) {
+            return;
+        }
+        for (String word : tokenize(task.getDescription())) {
+            LinkedHashMap<Long, Task> posting = postings.get(word);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(sequenceNumber);
+            if (posting.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every word of the query, in list order.
+     *
+     * @param query One or more words to look up.
+     * @return A list of matching tasks, empty if the query holds no words.
+     */
+    public ArrayList<Task> find(String query) {
+        ArrayList<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        ArrayList<LinkedHashMap<Long, Task>> wordPostings = new ArrayList<>(words.size());
+        LinkedHashMap<Long, Task> smallest = null;
+        for (String word : words) {
+            LinkedHashMap<Long, Task> posting = postings.get(word);
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            wordPostings.add(posting);
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+
+        ArrayList<Task> matchedTasks = new ArrayList<>();
+        for (Map.Entry<Long, Task> entry : smallest.entrySet()) {
+            boolean isPostedForAll = true;
+            for (LinkedHashMap<Long, Task> posting : wordPostings) {
+                if (posting != smallest && !posting.containsKey(entry.getKey())) {
+                    isPostedForAll = false;
+                    break;
+                }
+            }
+            if (isPostedForAll) {
+                matchedTasks.add(entry.getValue());
+            }
+        }
+        return matchedTasks;
+    }
+
+    /**
+     * Returns the lowercased words in the given text, in order of appearance.
+     *
+     * @param text Text to split into words.
+     * @return The words of the text.
+     */
+    public static ArrayList<String> tokenize(String text) {
+        ArrayList<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
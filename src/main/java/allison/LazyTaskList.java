@@ -0,0 +1,135 @@
+package allison;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+import allison.task.Task;
+
+/**
+ * Represents a list of tasks backed by raw storage lines that are only parsed into
+ * Task objects when first accessed, so loading costs no more than splitting the file into lines.
+ * A line that cannot be parsed is kept as-is and reads as null.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    // Each slot holds either an unparsed line (String) or a materialized Task
+    private final ArrayList<Object> slots;
+    private final Function<String, Task> parser;
+
+    /**
+     * Constructs a LazyTaskList over the given storage lines.
+     *
+     * @param lines Unparsed storage lines, one per task.
+     * @param parser Function that parses a line into a Task, or null if it is invalid.
+     */
+    public LazyTaskList(ArrayList<String> lines, Function<String, Task> parser) {
+        this.slots = new ArrayList<>(lines);
+        this.parser = parser;
+    }
+
+    /**
+     * Returns the task at the given index, parsing its line if this is the first access.
+     *
+     * @param index Index of the task (0-based).
+     * @return The task, or null if its line cannot be parsed.
+     */
+    @Override
+    public Task get(int index) {
+        Object slot = slots.get(index);
+        if (slot instanceof String line) {
+            Task task = parser.apply(line);
+            if (task == null) {
+                return null;
+            }
+            slots.set(index, task);
+            return task;
+        }
+        return (Task) slot;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        slots.set(index, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        slots.add(index, task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        slots.remove(index);
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Removes the tasks at the given indexes in a single pass over the list, without parsing them.
+     *
+     * @param indexes Indexes of the tasks to remove (0-based), in ascending order without repeats.
+     */
+    public void removeAll(int[] indexes) {
+        if (indexes.length == 0) {
+            return;
+        }
+        int numKept = indexes[0];
+        int nextRemoved = 0;
+        for (int i = indexes[0]; i < slots.size(); i++) {
+            if (nextRemoved < indexes.length && indexes[nextRemoved] == i) {
+                nextRemoved++;
+            } else {
+                slots.set(numKept++, slots.get(i));
+            }
+        }
+        slots.subList(numKept, slots.size()).clear();
+        modCount++;
+    }
+
+    /**
+     * Returns whether the task at the given index has been parsed.
+     *
+     * @param index Index of the task (0-based).
+     * @return True if the task has been materialized.
+     */
+    public boolean isMaterialized(int index) {
+        return slots.get(index) instanceof Task;
+    }
+
+    /**
+     * Returns the description of the task at the given index without parsing the rest of its line.
+     *
+     * @param index Index of the task (0-based).
+     * @return The description, or null if the line has no description field.
+     */
+    public String getDescription(int index) {
+        Object slot = slots.get(index);
+        if (slot instanceof Task task) {
+            return task.getDescription();
+        }
+
+        return Storage.parseDescription((String) slot);
+    }
+
+    /**
+     * Returns the storage line of the task at the given index, without parsing it if untouched.
+     *
+     * @param index Index of the task (0-based).
+     * @return The pipe-delimited storage line.
+     */
+    public String getFileString(int index) {
+        Object slot = slots.get(index);
+        if (slot instanceof Task task) {
+            return task.toFileString();
+        }
+        return (String) slot;
+    }
+}
@@ -0,0 +1,17 @@
+package allison;
+
+/**
+ * Represents the data structures a {@link TaskList} can keep its tasks in.
+ */
+public enum ListBacking {
+    /** The list as loaded, with O(1) access by position but O(n) deletion near the front. */
+    ARRAY,
+    /** A {@link TreeTaskList}, with O(log n) access, insertion and deletion by position. */
+    TREE,
+    /** A {@link ColumnarTaskList}, with a small fraction of the memory per task of the other backings. */
+    COLUMNAR,
+    /** An {@link OffHeapTaskList}, whose records live outside the Java heap and save without re-encoding. */
+    OFF_HEAP,
+    /** A {@link VersionedTaskList}, whose immutable snapshots can be read from other threads without locking. */
+    VERSIONED
+}
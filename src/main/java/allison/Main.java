@@ -29,4 +29,9 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        allison.shutdown();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,355 @@
+package allison;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+import allison.task.Task;
+
+/**
+ * Represents a list of tasks held outside the Java heap, so heap usage and garbage collection
+ * pauses do not grow with the number of tasks. Tasks are stored as {@link BinarySnapshot} records
+ * in a direct buffer, and a slot directory in a second direct buffer maps each position to its record.
+ * Marking a task flips its done byte in place, deleting a task only removes its slot, and space left
+ * behind by deleted or replaced records is reclaimed by compaction. Once compacted, the records sit
+ * in list order, so the list can be saved as a binary snapshot without encoding any task again.
+ * Like {@link ColumnarTaskList}, tasks read from the list are freshly built copies, and date queries scan
+ * the dates at their fixed offsets in each record, decoding only the tasks that match.
+ */
+public class OffHeapTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int SLOT_SIZE = Integer.BYTES + Integer.BYTES;
+    private static final int UNREADABLE_OFFSET = -1;
+    private static final int INITIAL_RECORD_BYTES = 1 << 12;
+    private static final int INITIAL_SLOTS = 1 << 8;
+    private static final int DONE_FIELD_END = "T|0".length();
+
+    private ByteBuffer records;
+    private ByteBuffer slots;
+    private int recordsEnd;
+    private int numLiveRecordBytes;
+    private int size;
+    // Whether records are laid out back to back in list order, with no gaps
+    private boolean isCompact;
+
+    /**
+     * Constructs an empty OffHeapTaskList.
+     */
+    public OffHeapTaskList() {
+        this.records = ByteBuffer.allocateDirect(INITIAL_RECORD_BYTES);
+        this.slots = ByteBuffer.allocateDirect(INITIAL_SLOTS * SLOT_SIZE);
+        this.recordsEnd = 0;
+        this.size = 0;
+        this.isCompact = true;
+    }
+
+    /**
+     * Constructs an OffHeapTaskList holding the given tasks in order.
+     * Tasks that could not be read from storage (null) are kept as unreadable slots.
+     *
+     * @param tasks Initial tasks.
+     */
+    public OffHeapTaskList(Collection<? extends Task> tasks) {
+        this();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns a copy of the task at the given index, decoded from its record.
+     *
+     * @param index Index of the task (0-based).
+     * @return The task, or null if it could not be read from storage.
+     */
+    @Override
+    public Task get(int index) {
+        int offset = getRecordOffset(index);
+        return offset == UNREADABLE_OFFSET ? null : BinarySnapshot.decodeTask(records, offset);
+    }
+
+    /**
+     * Replaces the task at the given index. A change to the done status alone is made in place;
+     * any other change appends a new record and leaves the old one to be compacted away.
+     *
+     * @param index Index of the task (0-based).
+     * @param task The new task.
+     * @return The previous task.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        if (isDoneChangeOnly(previous, task)) {
+            BinarySnapshot.setDone(records, getRecordOffset(index), task.isDone());
+            return previous;
+        }
+        numLiveRecordBytes -= getRecordLength(index);
+        writeRecord(index, task);
+        isCompact = false;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureSlotCapacity(size + 1);
+        slots.put((index + 1) * SLOT_SIZE, slots, index * SLOT_SIZE, (size - index) * SLOT_SIZE);
+        size++;
+        writeRecord(index, task);
+        if (index != size - 1) {
+            isCompact = false;
+        }
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        numLiveRecordBytes -= getRecordLength(index);
+        slots.put(index * SLOT_SIZE, slots, (index + 1) * SLOT_SIZE, (size - index - 1) * SLOT_SIZE);
+        size--;
+        isCompact = false;
+        modCount++;
+        if (recordsEnd > INITIAL_RECORD_BYTES && numLiveRecordBytes < recordsEnd / 2) {
+            compact();
+        }
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the description of the task at the given index without decoding the rest of its record.
+     *
+     * @param index Index of the task (0-based).
+     * @return The description, or null if the task could not be read from storage.
+     */
+    public String getDescription(int index) {
+        int offset = getRecordOffset(index);
+        return offset == UNREADABLE_OFFSET ? null : BinarySnapshot.decodeDescription(records, offset);
+    }
+
+    /**
+     * Returns the deadlines due within the given range (inclusive), ordered by due date/time and then by list order.
+     *
+     * @param from Earliest due date/time to include.
+     * @param to Latest due date/time to include.
+     * @return A list of matching deadlines.
+     */
+    public ArrayList<Task> findDeadlines(LocalDateTime from, LocalDateTime to) {
+        long fromSeconds = from.toEpochSecond(ZoneOffset.UTC);
+        long toSeconds = to.toEpochSecond(ZoneOffset.UTC);
+        ArrayList<long[]> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int offset = getRecordOffset(i);
+            if (offset == UNREADABLE_OFFSET || !BinarySnapshot.isDeadline(records, offset)) {
+                continue;
+            }
+            long dueSeconds = BinarySnapshot.decodeEpochSecond(records, offset, 0);
+            if (dueSeconds >= fromSeconds && dueSeconds <= toSeconds) {
+                matches.add(new long[] {dueSeconds, i});
+            }
+        }
+        return toTasksSortedByFirstDate(matches);
+    }
+
+    /**
+     * Returns the events that overlap the given period, ordered by start and then by list order.
+     *
+     * @param from Start of the period.
+     * @param to End of the period.
+     * @param isStrict Whether events touching the period only at an endpoint are excluded.
+     * @return A list of overlapping events.
+     */
+    public ArrayList<Task> findEvents(LocalDateTime from, LocalDateTime to, boolean isStrict) {
+        long fromSeconds = from.toEpochSecond(ZoneOffset.UTC);
+        long toSeconds = to.toEpochSecond(ZoneOffset.UTC);
+        ArrayList<long[]> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int offset = getRecordOffset(i);
+            if (offset == UNREADABLE_OFFSET || !BinarySnapshot.isEvent(records, offset)) {
+                continue;
+            }
+            long startSeconds = BinarySnapshot.decodeEpochSecond(records, offset, 0);
+            long endSeconds = BinarySnapshot.decodeEpochSecond(records, offset, 1);
+            boolean isOverlapping = isStrict
+                    ? startSeconds < toSeconds && endSeconds > fromSeconds
+                    : startSeconds <= toSeconds && endSeconds >= fromSeconds;
+            if (isOverlapping) {
+                matches.add(new long[] {startSeconds, i});
+            }
+        }
+        return toTasksSortedByFirstDate(matches);
+    }
+
+    /**
+     * Returns the tasks at the matched indexes, ordered by their first date/time and then by list order.
+     *
+     * @param matches Pairs of first date/time (in epoch seconds) and index, in ascending order of index.
+     * @return The decoded tasks.
+     */
+    private ArrayList<Task> toTasksSortedByFirstDate(ArrayList<long[]> matches) {
+        matches.sort(Comparator.comparingLong((long[] match) -> match[0]));
+        ArrayList<Task> tasks = new ArrayList<>(matches.size());
+        for (long[] match : matches) {
+            tasks.add(get((int) match[1]));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns whether every task can be written to a snapshot, i.e. none is unreadable.
+     *
+     * @return True if {@link #toBinarySnapshot(long)} can be used.
+     */
+    public boolean isSnapshottable() {
+        for (int i = 0; i < size; i++) {
+            if (getRecordOffset(i) == UNREADABLE_OFFSET) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the list as a binary snapshot: a header followed by the stored records, which are
+     * compacted into list order first if needed. The records are not copied onto the heap.
+     *
+     * @param nextId The ID the next added task will get, recorded in the header.
+     * @return Buffers to be written one after the other.
+     */
+    public ByteBuffer[] toBinarySnapshot(long nextId) {
+        if (!isCompact) {
+            compact();
+        }
+        return new ByteBuffer[] {BinarySnapshot.encodeHeader(size, nextId), records.slice(0, recordsEnd)};
+    }
+
+    /**
+     * Returns whether two tasks differ in their done status at most.
+     *
+     * @param previous The stored task.
+     * @param task The replacing task.
+     * @return True if the stored record can be kept with only its done flag updated.
+     */
+    private static boolean isDoneChangeOnly(Task previous, Task task) {
+        if (previous == null || task == null || previous.getClass() != task.getClass()) {
+            return false;
+        }
+        // The done flag is the last field before DONE_FIELD_END in the file string
+        return previous.toFileString().substring(DONE_FIELD_END).equals(task.toFileString().substring(DONE_FIELD_END));
+    }
+
+    /**
+     * Encodes a task into a new record at the end of the record buffer and points the given slot at it.
+     *
+     * @param index Index of the slot.
+     * @param task Task to store, or null for an unreadable slot.
+     */
+    private void writeRecord(int index, Task task) {
+        if (task == null) {
+            setSlot(index, UNREADABLE_OFFSET, 0);
+            return;
+        }
+        byte[] record = BinarySnapshot.encodeTask(task);
+        ensureRecordCapacity(recordsEnd + record.length);
+        records.put(recordsEnd, record);
+        setSlot(index, recordsEnd, record.length);
+        recordsEnd += record.length;
+        numLiveRecordBytes += record.length;
+    }
+
+    /**
+     * Rewrites the record buffer with only the records of current slots, in list order.
+     */
+    private void compact() {
+        ByteBuffer compacted = ByteBuffer.allocateDirect(Math.max(INITIAL_RECORD_BYTES, numLiveRecordBytes));
+        int end = 0;
+        for (int i = 0; i < size; i++) {
+            int offset = getRecordOffset(i);
+            if (offset == UNREADABLE_OFFSET) {
+                continue;
+            }
+            int length = getRecordLength(i);
+            compacted.put(end, records, offset, length);
+            setSlot(i, end, length);
+            end += length;
+        }
+        records = compacted;
+        recordsEnd = end;
+        isCompact = true;
+    }
+
+    /**
+     * Grows the record buffer to hold at least the given number of bytes.
+     *
+     * @param capacity The number of bytes needed.
+     */
+    private void ensureRecordCapacity(int capacity) {
+        if (capacity <= records.capacity()) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(capacity, records.capacity() * 2));
+        grown.put(0, records, 0, recordsEnd);
+        records = grown;
+    }
+
+    /**
+     * Grows the slot directory to hold at least the given number of slots.
+     *
+     * @param numSlots The number of slots needed.
+     */
+    private void ensureSlotCapacity(int numSlots) {
+        if (numSlots * SLOT_SIZE <= slots.capacity()) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(numSlots * SLOT_SIZE, slots.capacity() * 2));
+        grown.put(0, slots, 0, size * SLOT_SIZE);
+        slots = grown;
+    }
+
+    /**
+     * Returns the offset of the record of the task at the given index.
+     *
+     * @param index Index of the task (0-based).
+     * @return The record offset, or -1 if the task could not be read from storage.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    private int getRecordOffset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return slots.getInt(index * SLOT_SIZE);
+    }
+
+    /**
+     * Returns the length of the record of the task at the given index.
+     *
+     * @param index Index of the task (0-based).
+     * @return The record length in bytes.
+     */
+    private int getRecordLength(int index) {
+        return slots.getInt(index * SLOT_SIZE + Integer.BYTES);
+    }
+
+    /**
+     * Points the slot at the given index to a record.
+     *
+     * @param index Index of the slot.
+     * @param offset Offset of the record.
+     * @param length Length of the record in bytes.
+     */
+    private void setSlot(int index, int offset, int length) {
+        slots.putInt(index * SLOT_SIZE, offset);
+        slots.putInt(index * SLOT_SIZE + Integer.BYTES, length);
+    }
+}
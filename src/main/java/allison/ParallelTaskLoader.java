@@ -0,0 +1,127 @@
+package allison;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import allison.task.Task;
+
+/**
+ * Parses large pipe-delimited text snapshots in parallel.
+ * The snapshot is split into byte ranges that end on a newline, each range is parsed on a
+ * {@link ForkJoinPool} worker with the same semantics as {@link Storage#parseTask(String)},
+ * and the results are joined back together in their original order. Snapshots written before tasks had IDs
+ * are numbered by line within each range, and the numbers are offset by the lines before it once joined.
+ */
+public class ParallelTaskLoader {
+    private static final byte NEWLINE = '\n';
+    private static final int MIN_CHUNK_BYTES = 1 << 16;
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final Storage storage;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a ParallelTaskLoader that parses lines with the given storage on the given pool.
+     *
+     * @param storage Storage whose line parser is used.
+     * @param pool Pool that chunks are parsed on.
+     */
+    public ParallelTaskLoader(Storage storage, ForkJoinPool pool) {
+        this.storage = storage;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the tasks parsed from a text snapshot, in file order, with null in place of each line
+     * that cannot be parsed, so that positions in the list are the positions of the lines.
+     *
+     * @param snapshot Buffer holding the snapshot content.
+     * @return List of parsed tasks.
+     */
+    public ArrayList<Task> parse(ByteBuffer snapshot) {
+        return parse(snapshot, false);
+    }
+
+    /**
+     * Returns the tasks parsed from a text snapshot written before tasks had IDs, as {@link #parse(ByteBuffer)}
+     * does, giving each task its line's position (1-based) as its ID.
+     *
+     * @param snapshot Buffer holding the snapshot content.
+     * @return List of parsed tasks.
+     */
+    public ArrayList<Task> parseWithPositionalIds(ByteBuffer snapshot) {
+        return parse(snapshot, true);
+    }
+
+    /**
+     * Returns the tasks parsed from a text snapshot, numbering its lines as their IDs if asked to.
+     *
+     * @param snapshot Buffer holding the snapshot content.
+     * @param hasPositionalIds Whether each line is given its position as its ID.
+     * @return List of parsed tasks, with null for lines that cannot be parsed.
+     */
+    private ArrayList<Task> parse(ByteBuffer snapshot, boolean hasPositionalIds) {
+        List<ForkJoinTask<ArrayList<Task>>> chunks = new ArrayList<>();
+        int start = snapshot.position();
+        int limit = snapshot.limit();
+        int chunkSize = Math.max(MIN_CHUNK_BYTES, (limit - start) / (pool.getParallelism() * CHUNKS_PER_WORKER));
+        while (start < limit) {
+            int end = findChunkEnd(snapshot, start + chunkSize, limit);
+            ByteBuffer chunk = snapshot.duplicate().position(start).limit(end);
+            chunks.add(pool.submit(() -> parseChunk(chunk, hasPositionalIds)));
+            start = end;
+        }
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (ForkJoinTask<ArrayList<Task>> chunk : chunks) {
+            int numEarlierLines = tasks.size();
+            for (Task task : chunk.join()) {
+                if (hasPositionalIds && task != null) {
+                    // Lines were numbered from 1 within the chunk
+                    task.setId(task.getId() + numEarlierLines);
+                }
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the index just past the first newline at or after the given index,
+     * or the limit if there is none.
+     *
+     * @param snapshot Buffer holding the snapshot content.
+     * @param from Index to start searching from.
+     * @param limit Index to stop searching at.
+     * @return The exclusive end index of the chunk.
+     */
+    private int findChunkEnd(ByteBuffer snapshot, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (snapshot.get(i) == NEWLINE) {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Returns the tasks parsed from a chunk of complete lines.
+     *
+     * @param chunk Buffer holding whole lines of the snapshot.
+     * @param hasPositionalIds Whether each line is given its position in the chunk (1-based) as its ID.
+     * @return List of parsed tasks, in chunk order, with null for lines that cannot be parsed.
+     */
+    private ArrayList<Task> parseChunk(ByteBuffer chunk, boolean hasPositionalIds) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String line : Charset.defaultCharset().decode(chunk).toString().split("\\R")) {
+            if (!line.isEmpty()) {
+                tasks.add(storage.parseTask(hasPositionalIds ? Storage.withId(line, tasks.size() + 1) : line));
+            }
+        }
+        return tasks;
+    }
+}
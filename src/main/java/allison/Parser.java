@@ -15,12 +15,27 @@ public class Parser {
     private static final String UNMARK_COMMAND = "unmark";
     private static final String DELETE_COMMAND = "delete";
     private static final String FIND_COMMAND = "find";
+    private static final String FINDWORD_COMMAND = "findword";
+    private static final String FUZZY_FIND_COMMAND = "find~";
     private static final String TODO_COMMAND = "todo";
     private static final String DEADLINE_COMMAND = "deadline";
     private static final String EVENT_COMMAND = "event";
+    private static final String DUE_COMMAND = "due";
+    private static final String EVENTS_COMMAND = "events";
+    private static final String STATS_COMMAND = "stats";
+    private static final String MEMORY_COMMAND = "memory";
+    private static final String UNDO_COMMAND = "undo";
+    private static final String REDO_COMMAND = "redo";
+    private static final String NEXTUP_COMMAND = "nextup";
+    private static final int DEFAULT_NEXTUP_COUNT = 5;
     private static final String BY_KEYWORD = "/by";
     private static final String FROM_KEYWORD = "/from";
     private static final String TO_KEYWORD = "/to";
+    private static final String NEXT_KEYWORD = "next";
+    private static final String ID_PREFIX = "#";
+    private static final String DONE_KEYWORD = "done";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = "-";
 
     /**
      * Constructs a Parser instance.
@@ -44,6 +59,7 @@ public class Parser {
         case BYE_COMMAND:
             return Command.BYE;
         case LIST_COMMAND:
+            validateListCommand(parts);
             return Command.LIST;
         case HELP_COMMAND:
             return Command.HELP;
@@ -68,6 +84,29 @@ public class Parser {
         case FIND_COMMAND:
             validateHasArguments(parts, "Missing keyword", "find <keyword>");
             return Command.FIND;
+        case FINDWORD_COMMAND:
+            validateHasArguments(parts, "Missing keyword", "findword <word>");
+            return Command.FINDWORD;
+        case FUZZY_FIND_COMMAND:
+            validateHasArguments(parts, "Missing keyword", "find~ <word>");
+            return Command.FUZZY_FIND;
+        case DUE_COMMAND:
+            validateDueCommand(trimmedCommand);
+            return Command.DUE;
+        case EVENTS_COMMAND:
+            validatePeriod(trimmedCommand, EVENTS_COMMAND, "events /from <start> /to <end>");
+            return Command.EVENTS;
+        case STATS_COMMAND:
+            return Command.STATS;
+        case MEMORY_COMMAND:
+            return Command.MEMORY;
+        case UNDO_COMMAND:
+            return Command.UNDO;
+        case REDO_COMMAND:
+            return Command.REDO;
+        case NEXTUP_COMMAND:
+            validateNextUpCommand(parts);
+            return Command.NEXTUP;
         default:
             throw new AllisonException();
         }
@@ -88,12 +127,57 @@ public class Parser {
         }
     }
 
+    /**
+     * Validates that a list command has no arguments, "next", or a page number and optional page size.
+     *
+     * @param parts Split command parts.
+     * @throws AllisonException If the arguments are not of one of these forms.
+     */
+    private void validateListCommand(String[] parts) throws AllisonException {
+        String usage = "list, list <page> <size> or list next";
+        if (parts.length < 2 || parts[1].trim().equalsIgnoreCase(NEXT_KEYWORD)) {
+            return;
+        }
+        String[] args = parts[1].trim().split("\\s+");
+        if (args.length > 2) {
+            throw new AllisonException("Too many arguments in list", usage);
+        }
+        for (String arg : args) {
+            try {
+                if (Integer.parseInt(arg) < 1) {
+                    throw new AllisonException("Page number and size must be positive", usage);
+                }
+            } catch (NumberFormatException e) {
+                throw new AllisonException("Invalid input after 'list'", usage);
+            }
+        }
+    }
+
+    /**
+     * Validates that a nextup command has at most a positive number of tasks to show.
+     *
+     * @param parts Split command parts.
+     * @throws AllisonException If the argument is not a positive integer.
+     */
+    private void validateNextUpCommand(String[] parts) throws AllisonException {
+        if (parts.length < 2) {
+            return;
+        }
+        try {
+            if (Integer.parseInt(parts[1].trim()) < 1) {
+                throw new AllisonException("Number of tasks must be positive", "nextup [count]");
+            }
+        } catch (NumberFormatException e) {
+            throw new AllisonException("Invalid input after 'nextup'", "nextup [count]");
+        }
+    }
+
     /**
      * Validates that a task-number command (mark, unmark, delete) has a valid numeric argument.
      *
      * @param parts Split command parts.
      * @param commandName The command name (e.g. "mark", "unmark", "delete").
-     * @throws AllisonException If the task number is missing or not a valid integer.
+     * @throws AllisonException If the task number is missing or not a valid integer, #id or selection of tasks.
      */
     private void validateTaskNumCommand(String[] parts, String commandName) throws AllisonException {
         String usage = commandName + " <task number>";
@@ -101,7 +185,13 @@ public class Parser {
             throw new AllisonException("Missing task number", usage);
         }
         try {
-            Integer.parseInt(parts[1]);
+            if (isTaskSelection(parts[1])) {
+                toTaskSelection(parts[1]);
+            } else if (parts[1].startsWith(ID_PREFIX)) {
+                Long.parseLong(parts[1].substring(ID_PREFIX.length()));
+            } else {
+                Integer.parseInt(parts[1]);
+            }
         } catch (NumberFormatException e) {
             throw new AllisonException("Invalid input after '" + commandName + "'", usage);
         }
@@ -158,6 +248,146 @@ public class Parser {
         }
     }
 
+    /**
+     * Validates that a due command has either a /by date, or a /from date and a /to date.
+     *
+     * @param trimmedCommand The full trimmed command string.
+     * @throws AllisonException If the due command is malformed.
+     */
+    private void validateDueCommand(String trimmedCommand) throws AllisonException {
+        String usage = "due /by <time> or due /from <start> /to <end>";
+        if (trimmedCommand.contains(BY_KEYWORD)) {
+            if (trimmedCommand.split(BY_KEYWORD, 2)[1].isBlank()) {
+                throw new AllisonException("Missing date/time after /by", usage);
+            }
+            return;
+        }
+        validatePeriod(trimmedCommand, DUE_COMMAND, usage);
+    }
+
+    /**
+     * Validates that a command has a /from date followed by a /to date.
+     *
+     * @param trimmedCommand The full trimmed command string.
+     * @param commandName The command name (e.g. "due", "events").
+     * @param usage Correct usage string shown to the user.
+     * @throws AllisonException If the period is missing or incomplete.
+     */
+    private void validatePeriod(String trimmedCommand, String commandName, String usage) throws AllisonException {
+        if (!trimmedCommand.contains(FROM_KEYWORD) || !trimmedCommand.contains(TO_KEYWORD)) {
+            throw new AllisonException("Missing /from or /to in " + commandName, usage);
+        }
+        String[] toSplitParts = trimmedCommand.split(FROM_KEYWORD, 2)[1].split(TO_KEYWORD, 2);
+        if (toSplitParts.length < 2 || toSplitParts[0].isBlank() || toSplitParts[1].isBlank()) {
+            throw new AllisonException("Missing start or end date/time in " + commandName, usage);
+        }
+    }
+
+    /**
+     * Returns whether the given mark, unmark or delete command refers to its task by ID ("#id")
+     * rather than by task number.
+     *
+     * @param command Full user input string.
+     * @return True if the task is given as an ID.
+     */
+    public boolean isTaskId(String command) {
+        String[] parts = command.trim().split(" ", 2);
+        return parts.length > 1 && parts[1].startsWith(ID_PREFIX);
+    }
+
+    /**
+     * Returns the task ID specified as "#id" in the given command.
+     *
+     * @param command Full user input string.
+     * @return Parsed task ID.
+     */
+    public long parseTaskId(String command) {
+        String trimmedCommand = command.trim();
+        String[] parts = trimmedCommand.split(" ", 2);
+
+        assert parts[0].trim().equals(MARK_COMMAND)
+                || parts[0].trim().equals(UNMARK_COMMAND)
+                || parts[0].trim().equals(DELETE_COMMAND);
+        assert parts.length > 1 && parts[1].startsWith(ID_PREFIX);
+
+        return Long.parseLong(parts[1].substring(ID_PREFIX.length()));
+    }
+
+    /**
+     * Returns whether the given mark, unmark or delete command applies to several tasks at once:
+     * a comma-separated list of task numbers, ranges such as "9-20" and #ids, or "done" for every done task.
+     *
+     * @param command Full user input string.
+     * @return True if the command takes a selection of tasks.
+     */
+    public boolean isBulkCommand(String command) {
+        String[] parts = command.trim().split(" ", 2);
+        return parts.length > 1 && isTaskSelection(parts[1]);
+    }
+
+    /**
+     * Returns the selection of tasks specified in the given bulk mark, unmark or delete command.
+     *
+     * @param command Full user input string.
+     * @return Parsed task selection.
+     */
+    public TaskSelection parseTaskSelection(String command) {
+        String trimmedCommand = command.trim();
+        String[] parts = trimmedCommand.split(" ", 2);
+
+        assert parts[0].trim().equals(MARK_COMMAND)
+                || parts[0].trim().equals(UNMARK_COMMAND)
+                || parts[0].trim().equals(DELETE_COMMAND);
+        assert parts.length > 1 && isTaskSelection(parts[1]);
+
+        return toTaskSelection(parts[1]);
+    }
+
+    /**
+     * Returns whether a command argument selects several tasks rather than a single task number or #id.
+     *
+     * @param argument The argument after the command keyword.
+     * @return True if the argument is a selection.
+     */
+    private boolean isTaskSelection(String argument) {
+        String trimmedArgument = argument.trim();
+        return trimmedArgument.equals(DONE_KEYWORD) || trimmedArgument.contains(LIST_SEPARATOR)
+                || trimmedArgument.contains(RANGE_SEPARATOR);
+    }
+
+    /**
+     * Returns the selection of tasks described by a command argument.
+     *
+     * @param argument The argument after the command keyword.
+     * @return The task selection.
+     * @throws NumberFormatException If an item is not a task number, range or #id, or a range is reversed.
+     */
+    private TaskSelection toTaskSelection(String argument) {
+        TaskSelection selection = new TaskSelection();
+        if (argument.trim().equals(DONE_KEYWORD)) {
+            selection.selectDone();
+            return selection;
+        }
+        for (String item : argument.split(LIST_SEPARATOR)) {
+            String trimmedItem = item.trim();
+            if (trimmedItem.startsWith(ID_PREFIX)) {
+                selection.addId(Long.parseLong(trimmedItem.substring(ID_PREFIX.length())));
+            } else if (trimmedItem.contains(RANGE_SEPARATOR)) {
+                String[] bounds = trimmedItem.split(RANGE_SEPARATOR, 2);
+                int from = Integer.parseInt(bounds[0].trim());
+                int to = Integer.parseInt(bounds[1].trim());
+                if (from > to) {
+                    throw new NumberFormatException("Reversed range: " + trimmedItem);
+                }
+                selection.addRange(from, to);
+            } else {
+                int taskNum = Integer.parseInt(trimmedItem);
+                selection.addRange(taskNum, taskNum);
+            }
+        }
+        return selection;
+    }
+
     /**
      * Returns the task number specified in the given command.
      *
@@ -178,7 +408,7 @@ public class Parser {
     }
 
     /**
-     * Returns the keyword to search for from a find command.
+     * Returns the keyword to search for from a find or findword command.
      *
      * @param command Full user input string.
      * @return The search keyword.
@@ -187,7 +417,9 @@ public class Parser {
         String trimmedCommand = command.trim();
         String[] parts = trimmedCommand.split(" ", 2);
 
-        assert parts[0].trim().equals(FIND_COMMAND);
+        assert parts[0].trim().equals(FIND_COMMAND)
+                || parts[0].trim().equals(FINDWORD_COMMAND)
+                || parts[0].trim().equals(FUZZY_FIND_COMMAND);
         assert parts.length > 1;
 
         String keyword = parts[1];
@@ -289,4 +521,86 @@ public class Parser {
         String toArgs = toSplitParts[1].trim();
         return new ArrayList<>(List.of(fromArgs, toArgs));
     }
+
+    /**
+     * Returns the date/time range of a due command.
+     * A command with only /by covers everything due up to that date/time.
+     *
+     * @param command Full user input string.
+     * @return List containing the start and end date/time, where the start is empty for a /by query.
+     */
+    public ArrayList<String> parseDueArgs(String command) {
+        String trimmedCommand = command.trim();
+        String[] parts = trimmedCommand.split(" ", 2);
+
+        assert parts[0].trim().equals(DUE_COMMAND);
+        assert parts.length > 1;
+
+        if (parts[1].contains(BY_KEYWORD)) {
+            String byArgs = parts[1].split(BY_KEYWORD, 2)[1].trim();
+            return new ArrayList<>(List.of("", byArgs));
+        }
+        String[] toSplitParts = parts[1].split(FROM_KEYWORD, 2)[1].split(TO_KEYWORD, 2);
+        String fromArgs = toSplitParts[0].trim();
+        String toArgs = toSplitParts[1].trim();
+        return new ArrayList<>(List.of(fromArgs, toArgs));
+    }
+
+    /**
+     * Returns the period of an events command.
+     *
+     * @param command Full user input string.
+     * @return List containing the start and end date/time of the period.
+     */
+    public ArrayList<String> parseEventsArgs(String command) {
+        String trimmedCommand = command.trim();
+        String[] parts = trimmedCommand.split(" ", 2);
+
+        assert parts[0].trim().equals(EVENTS_COMMAND);
+        assert parts.length > 1;
+
+        String[] toSplitParts = parts[1].split(FROM_KEYWORD, 2)[1].split(TO_KEYWORD, 2);
+        String fromArgs = toSplitParts[0].trim();
+        String toArgs = toSplitParts[1].trim();
+        return new ArrayList<>(List.of(fromArgs, toArgs));
+    }
+
+    /**
+     * Returns the number of tasks a nextup command asks for.
+     *
+     * @param command Full user input string.
+     * @return The number given, or 5 if none is.
+     */
+    public int parseNextUpCount(String command) {
+        String trimmedCommand = command.trim();
+        String[] parts = trimmedCommand.split(" ", 2);
+
+        assert parts[0].trim().equalsIgnoreCase(NEXTUP_COMMAND);
+
+        if (parts.length < 2) {
+            return DEFAULT_NEXTUP_COUNT;
+        }
+        return Integer.parseInt(parts[1].trim());
+    }
+
+    /**
+     * Returns the arguments of a list command.
+     *
+     * @param command Full user input string.
+     * @return List containing "next", the page number and optional page size, or nothing.
+     */
+    public ArrayList<String> parseListArgs(String command) {
+        String trimmedCommand = command.trim();
+        String[] parts = trimmedCommand.split(" ", 2);
+
+        assert parts[0].trim().equals(LIST_COMMAND);
+
+        if (parts.length < 2) {
+            return new ArrayList<>();
+        }
+        if (parts[1].trim().equalsIgnoreCase(NEXT_KEYWORD)) {
+            return new ArrayList<>(List.of(NEXT_KEYWORD));
+        }
+        return new ArrayList<>(List.of(parts[1].trim().split("\\s+")));
+    }
 }
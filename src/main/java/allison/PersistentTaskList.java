@@ -0,0 +1,294 @@
+package allison;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import allison.task.Task;
+
+/**
+ * Represents an immutable list of tasks that can be read from any thread without locking.
+ * Changes return a new list sharing every untouched node with this one: like {@link TreeTaskList}
+ * it is a randomized binary search tree ordered by position, but nodes are copied along the
+ * path to a change instead of being modified, so each version costs O(log n) expected space.
+ * The list itself cannot be modified through the {@link java.util.List} interface.
+ */
+public final class PersistentTaskList extends AbstractList<Task> {
+    private static final PersistentTaskList EMPTY = new PersistentTaskList(null);
+
+    private final Node root;
+
+    /**
+     * Represents an immutable node holding one task, with the size of the subtree rooted at it.
+     */
+    private static final class Node {
+        private final Task task;
+        private final Node left;
+        private final Node right;
+        private final int size;
+
+        private Node(Task task, Node left, Node right) {
+            this.task = task;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private PersistentTaskList(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @return An empty PersistentTaskList.
+     */
+    public static PersistentTaskList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list holding the given tasks in order, built as a balanced tree in O(n) time.
+     *
+     * @param tasks Tasks to hold.
+     * @return A PersistentTaskList of the tasks.
+     */
+    public static PersistentTaskList of(Collection<? extends Task> tasks) {
+        Task[] initialTasks = tasks.toArray(new Task[0]);
+        return new PersistentTaskList(build(initialTasks, 0, initialTasks.length));
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size());
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.task;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns an iterator visiting the tasks in order in O(n) time overall.
+     *
+     * @return An iterator over the tasks.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final ArrayDeque<Node> path = new ArrayDeque<>();
+            private Node next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                Node node = path.pop();
+                next = node.right;
+                return node.task;
+            }
+        };
+    }
+
+    /**
+     * Returns a list with the task at the given index replaced.
+     *
+     * @param index Index of the task (0-based).
+     * @param task The new task.
+     * @return The changed list.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public PersistentTaskList with(int index, Task task) {
+        checkIndex(index, size());
+        return new PersistentTaskList(replace(root, index, task));
+    }
+
+    /**
+     * Returns a list with the given task inserted at the given index.
+     *
+     * @param index Index to insert at (0-based), which may equal the size to append.
+     * @param task The task to insert.
+     * @return The changed list.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public PersistentTaskList plus(int index, Task task) {
+        checkIndex(index, size() + 1);
+        return new PersistentTaskList(insert(root, index, task));
+    }
+
+    /**
+     * Returns a list with the task at the given index removed.
+     *
+     * @param index Index of the task (0-based).
+     * @return The changed list.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public PersistentTaskList minus(int index) {
+        checkIndex(index, size());
+        return new PersistentTaskList(delete(root, index));
+    }
+
+    /**
+     * Checks that an index lies within the given bound.
+     *
+     * @param index The index to check.
+     * @param bound The exclusive upper bound.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Returns the root of a balanced tree holding the given range of tasks in order.
+     *
+     * @param tasks Tasks to place in the tree.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return Root of the tree, or null if the range is empty.
+     */
+    private static Node build(Task[] tasks, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node(tasks[middle], build(tasks, from, middle), build(tasks, middle + 1, to));
+    }
+
+    /**
+     * Returns a copy of the given subtree with the task at the given position replaced.
+     *
+     * @param node Root of the subtree.
+     * @param index Position within the subtree.
+     * @param task The new task.
+     * @return The root of the copied subtree.
+     */
+    private static Node replace(Node node, int index, Task task) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node(node.task, replace(node.left, index, task), node.right);
+        } else if (index == leftSize) {
+            return new Node(task, node.left, node.right);
+        } else {
+            return new Node(node.task, node.left, replace(node.right, index - leftSize - 1, task));
+        }
+    }
+
+    /**
+     * Returns a copy of the given subtree with a task inserted at the given position.
+     * The new node becomes the subtree root with probability 1 / (size + 1), as in {@link TreeTaskList}.
+     *
+     * @param node Root of the subtree.
+     * @param index Position within the subtree to insert at.
+     * @param task Task to insert.
+     * @return The root of the copied subtree.
+     */
+    private static Node insert(Node node, int index, Task task) {
+        if (node == null || ThreadLocalRandom.current().nextInt(node.size + 1) == 0) {
+            Node[] halves = split(node, index);
+            return new Node(task, halves[0], halves[1]);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return new Node(node.task, insert(node.left, index, task), node.right);
+        }
+        return new Node(node.task, node.left, insert(node.right, index - leftSize - 1, task));
+    }
+
+    /**
+     * Returns a copy of the given subtree with the task at the given position removed.
+     *
+     * @param node Root of the subtree.
+     * @param index Position within the subtree to remove.
+     * @return The root of the copied subtree.
+     */
+    private static Node delete(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index == leftSize) {
+            return join(node.left, node.right);
+        }
+        if (index < leftSize) {
+            return new Node(node.task, delete(node.left, index), node.right);
+        }
+        return new Node(node.task, node.left, delete(node.right, index - leftSize - 1));
+    }
+
+    /**
+     * Splits a subtree into copies holding the nodes before the given position and the nodes from it onwards.
+     *
+     * @param node Root of the subtree.
+     * @param index Number of nodes to place in the first half.
+     * @return The roots of the two halves.
+     */
+    private static Node[] split(Node node, int index) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            Node[] halves = split(node.left, index);
+            return new Node[] {halves[0], new Node(node.task, halves[1], node.right)};
+        }
+        Node[] halves = split(node.right, index - leftSize - 1);
+        return new Node[] {new Node(node.task, node.left, halves[0]), halves[1]};
+    }
+
+    /**
+     * Returns the root of a tree holding the nodes of the first subtree followed by those of the second.
+     * Each root is kept on top with probability proportional to its subtree size.
+     *
+     * @param first Root of the subtree whose nodes come first.
+     * @param second Root of the subtree whose nodes come second.
+     * @return The root of the joined tree.
+     */
+    private static Node join(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (ThreadLocalRandom.current().nextInt(first.size + second.size) < first.size) {
+            return new Node(first.task, first.left, join(first.right, second));
+        }
+        return new Node(second.task, join(first, second.left), second.right);
+    }
+
+    /**
+     * Returns the number of nodes in a subtree.
+     *
+     * @param node Root of the subtree, or null.
+     * @return The subtree size.
+     */
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,71 @@
+package allison;
+
+/**
+ * Accumulates how long saves spend writing, forcing to the storage device, and moving files into place,
+ * so the latency cost of an {@link FsyncPolicy} can be measured on a given deployment.
+ */
+public class SaveTimer {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private long numSaves;
+    private long numForcedSaves;
+    private long totalWriteNanos;
+    private long totalForceNanos;
+    private long totalMoveNanos;
+    private long maxSaveNanos;
+
+    /**
+     * Records the phases of one save.
+     *
+     * @param writeNanos Time spent writing the data.
+     * @param forceNanos Time spent forcing it to the device, or 0 if it was not forced.
+     * @param moveNanos Time spent moving it into place, or 0 if it was written in place.
+     */
+    public synchronized void record(long writeNanos, long forceNanos, long moveNanos) {
+        numSaves++;
+        if (forceNanos > 0) {
+            numForcedSaves++;
+        }
+        totalWriteNanos += writeNanos;
+        totalForceNanos += forceNanos;
+        totalMoveNanos += moveNanos;
+        maxSaveNanos = Math.max(maxSaveNanos, writeNanos + forceNanos + moveNanos);
+    }
+
+    /**
+     * Returns the number of saves recorded.
+     *
+     * @return The number of saves.
+     */
+    public synchronized long getNumSaves() {
+        return numSaves;
+    }
+
+    /**
+     * Returns the number of recorded saves that were forced to the storage device.
+     *
+     * @return The number of forced saves.
+     */
+    public synchronized long getNumForcedSaves() {
+        return numForcedSaves;
+    }
+
+    /**
+     * Returns a one-line summary of the average and worst-case save latency.
+     *
+     * @return The summary.
+     */
+    @Override
+    public synchronized String toString() {
+        if (numSaves == 0) {
+            return "No saves recorded";
+        }
+        return String.format("%d saves (%d forced): avg write %.3f ms, avg fsync %.3f ms, "
+                        + "avg move %.3f ms, max total %.3f ms",
+                numSaves, numForcedSaves,
+                totalWriteNanos / NANOS_PER_MILLI / numSaves,
+                totalForceNanos / NANOS_PER_MILLI / numSaves,
+                totalMoveNanos / NANOS_PER_MILLI / numSaves,
+                maxSaveNanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,387 @@
+package allison;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import allison.task.Task;
+
+/**
+ * Handles persistent storage of tasks split across fixed-size segment files, listed in order by a
+ * small manifest. Changing a task only rewrites the segment holding it (plus the manifest if segments
+ * were added or removed), so the cost of a save is bounded by the segment size rather than the list size.
+ * The manifest also records the next task ID, so it is rewritten whenever a task is added.
+ * An existing single-file task list is migrated into segments the first time it is loaded.
+ */
+public class SegmentedStorage extends Storage {
+    private static final String DIRECTORY_SUFFIX = ".segments";
+    private static final String MANIFEST_FILE = "manifest.txt";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".txt";
+    private static final char FIELD_DELIMITER = '|';
+    private static final int SEGMENT_CAPACITY = 1024;
+
+    private final File directory;
+    private final Object writeLock = new Object();
+    private final ArrayList<Segment> segments;
+    private final ArrayList<Integer> removedSegmentIds;
+    private int nextSegmentId;
+    private boolean isManifestDirty;
+
+    /**
+     * Represents one segment file and the storage lines it holds.
+     */
+    private static class Segment {
+        private final int id;
+        private final ArrayList<String> lines = new ArrayList<>();
+        private boolean isDirty;
+
+        private Segment(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Constructs a SegmentedStorage that keeps its segments in a directory next to the specified file path.
+     *
+     * @param filePath File path of the single-file task list, used to name the segment directory.
+     */
+    public SegmentedStorage(String filePath) {
+        super(filePath);
+        this.directory = new File(filePath + DIRECTORY_SUFFIX);
+        this.segments = new ArrayList<>();
+        this.removedSegmentIds = new ArrayList<>();
+        this.nextSegmentId = 0;
+    }
+
+    /**
+     * Returns a list of tasks loaded from the segment files, in manifest order.
+     * Migrates the single-file task list into segments if no manifest exists yet.
+     *
+     * @return List of tasks loaded from the segments.
+     */
+    @Override
+    public ArrayList<Task> load() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String line : loadLines()) {
+            Task task = parseTask(line);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns a list of tasks backed by the unparsed lines of the segment files.
+     *
+     * @return Lazily materialized list of tasks loaded from the segments.
+     */
+    @Override
+    public LazyTaskList loadLazy() {
+        return new LazyTaskList(loadLines(), this::parseTask);
+    }
+
+    /**
+     * Rewrites every segment from the given list of tasks.
+     *
+     * @param tasks List of tasks to be saved.
+     */
+    @Override
+    public void saveTasks(List<Task> tasks) {
+        synchronized (this) {
+            for (Segment segment : segments) {
+                removedSegmentIds.add(segment.id);
+            }
+            segments.clear();
+            for (int i = 0; i < tasks.size(); i++) {
+                appendLine(tasks instanceof LazyTaskList lazyTasks
+                        ? lazyTasks.getFileString(i)
+                        : tasks.get(i).toFileString());
+            }
+            isManifestDirty = true;
+        }
+        flush();
+    }
+
+    @Override
+    public synchronized void appendAdd(Task task) {
+        recordId(task.getId());
+        appendLine(task.toFileString());
+        isManifestDirty = true;
+    }
+
+    @Override
+    public synchronized void appendMark(int taskNum) {
+        setDone(taskNum, true);
+    }
+
+    @Override
+    public synchronized void appendUnmark(int taskNum) {
+        setDone(taskNum, false);
+    }
+
+    @Override
+    public synchronized void appendDelete(int taskNum) {
+        int segmentIndex = findSegmentIndex(taskNum);
+        Segment segment = segments.get(segmentIndex);
+        segment.lines.remove(taskNum - 1 - countLinesBefore(segmentIndex));
+        segment.isDirty = true;
+        if (segment.lines.isEmpty()) {
+            segments.remove(segmentIndex);
+            removedSegmentIds.add(segment.id);
+            isManifestDirty = true;
+        }
+    }
+
+    /**
+     * Atomically rewrites the segments changed since the last flush, then the manifest if the set of
+     * segments changed.
+     * Segments dropped from the manifest are deleted last, so a crash never leaves the manifest
+     * pointing at a missing file.
+     */
+    @Override
+    public void flush() {
+        synchronized (writeLock) {
+            ArrayList<Segment> dirtySegments = new ArrayList<>();
+            ArrayList<byte[]> dirtyContents = new ArrayList<>();
+            byte[] manifest = null;
+            ArrayList<Integer> segmentIdsToDelete;
+            synchronized (this) {
+                for (Segment segment : segments) {
+                    if (segment.isDirty) {
+                        dirtySegments.add(segment);
+                        dirtyContents.add(joinLines(segment.lines));
+                        segment.isDirty = false;
+                    }
+                }
+                if (isManifestDirty) {
+                    ArrayList<String> segmentIds = new ArrayList<>();
+                    segmentIds.add(toNextIdHeader(getNextId()));
+                    for (Segment segment : segments) {
+                        segmentIds.add(String.valueOf(segment.id));
+                    }
+                    manifest = joinLines(segmentIds);
+                    isManifestDirty = false;
+                }
+                segmentIdsToDelete = new ArrayList<>(removedSegmentIds);
+                removedSegmentIds.clear();
+            }
+
+            try {
+                directory.mkdirs();
+                for (int i = 0; i < dirtySegments.size(); i++) {
+                    writeAtomically(segmentFile(dirtySegments.get(i).id), dirtyContents.get(i));
+                }
+                if (manifest != null) {
+                    writeAtomically(new File(directory, MANIFEST_FILE), manifest);
+                }
+                for (int segmentId : segmentIdsToDelete) {
+                    segmentFile(segmentId).delete();
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to save tasks");
+            }
+        }
+    }
+
+    /**
+     * Returns false, as segments are rewritten in place and never accumulate a journal.
+     *
+     * @return False.
+     */
+    @Override
+    public boolean shouldCompact() {
+        return false;
+    }
+
+    /**
+     * Writes any changed segments. No full rewrite is needed on exit.
+     *
+     * @param tasks Ignored, as the segments already mirror the list.
+     */
+    @Override
+    public void close(List<Task> tasks) {
+        flush();
+    }
+
+    /**
+     * Returns the storage lines of all segments in order, reading the manifest and segment files,
+     * or migrating the single-file task list if there is no manifest.
+     *
+     * @return The storage lines of all tasks.
+     */
+    private ArrayList<String> loadLines() {
+        File manifest = new File(directory, MANIFEST_FILE);
+        if (!manifest.exists()) {
+            migrateFromSingleFile();
+        } else {
+            readSegments(manifest);
+        }
+
+        ArrayList<String> lines = new ArrayList<>();
+        synchronized (this) {
+            for (Segment segment : segments) {
+                lines.addAll(segment.lines);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Reads every segment listed in the manifest into memory.
+     * Segments listed by a manifest written before tasks had IDs get positional IDs, and are rewritten
+     * on the next flush so the IDs last.
+     *
+     * @param manifest The manifest file.
+     */
+    private synchronized void readSegments(File manifest) {
+        segments.clear();
+        boolean hasIds = false;
+        try {
+            for (String segmentId : Files.readAllLines(manifest.toPath(), Charset.defaultCharset())) {
+                if (segmentId.isEmpty()) {
+                    continue;
+                }
+                long manifestNextId = parseNextIdHeader(segmentId);
+                if (manifestNextId != Task.NO_ID) {
+                    recordId(manifestNextId - 1);
+                    hasIds = true;
+                    continue;
+                }
+                Segment segment = new Segment(Integer.parseInt(segmentId));
+                for (String line : Files.readAllLines(segmentFile(segment.id).toPath(), Charset.defaultCharset())) {
+                    if (!line.isEmpty()) {
+                        segment.lines.add(line);
+                    }
+                }
+                segments.add(segment);
+                nextSegmentId = Math.max(nextSegmentId, segment.id + 1);
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Failed to read segments in: " + directory);
+        }
+        if (!hasIds) {
+            assignPositionalIds();
+        }
+    }
+
+    /**
+     * Appends each task's position (1-based) as its ID to the storage lines of all segments,
+     * and marks the segments and manifest for rewriting.
+     */
+    private void assignPositionalIds() {
+        ArrayList<String> lines = new ArrayList<>();
+        for (Segment segment : segments) {
+            lines.addAll(segment.lines);
+        }
+        ArrayList<String> numberedLines = withPositionalIds(lines);
+        int lineIndex = 0;
+        for (Segment segment : segments) {
+            for (int i = 0; i < segment.lines.size(); i++) {
+                segment.lines.set(i, numberedLines.get(lineIndex++));
+            }
+            segment.isDirty = true;
+        }
+        isManifestDirty = true;
+    }
+
+    /**
+     * Splits the tasks of the single-file task list into segments and writes them out.
+     */
+    private void migrateFromSingleFile() {
+        saveTasks(super.load());
+    }
+
+    /**
+     * Appends a storage line to the last segment, starting a new segment if it is full.
+     *
+     * @param line The storage line to append.
+     */
+    private void appendLine(String line) {
+        if (segments.isEmpty() || segments.get(segments.size() - 1).lines.size() >= SEGMENT_CAPACITY) {
+            segments.add(new Segment(nextSegmentId++));
+            isManifestDirty = true;
+        }
+        Segment segment = segments.get(segments.size() - 1);
+        segment.lines.add(line);
+        segment.isDirty = true;
+    }
+
+    /**
+     * Updates the done flag in the storage line of the specified task.
+     *
+     * @param taskNum Task number (1-based index).
+     * @param isDone New done status.
+     */
+    private void setDone(int taskNum, boolean isDone) {
+        int segmentIndex = findSegmentIndex(taskNum);
+        Segment segment = segments.get(segmentIndex);
+        int lineIndex = taskNum - 1 - countLinesBefore(segmentIndex);
+        String line = segment.lines.get(lineIndex);
+        int doneStart = line.indexOf(FIELD_DELIMITER) + 1;
+        segment.lines.set(lineIndex, line.substring(0, doneStart) + (isDone ? 1 : 0)
+                + line.substring(line.indexOf(FIELD_DELIMITER, doneStart)));
+        segment.isDirty = true;
+    }
+
+    /**
+     * Returns the index of the segment holding the specified task.
+     *
+     * @param taskNum Task number (1-based index).
+     * @return Index into the segment list.
+     * @throws IndexOutOfBoundsException If the task number is out of range.
+     */
+    private int findSegmentIndex(int taskNum) {
+        int remaining = taskNum - 1;
+        for (int i = 0; i < segments.size(); i++) {
+            remaining -= segments.get(i).lines.size();
+            if (remaining < 0) {
+                return i;
+            }
+        }
+        throw new IndexOutOfBoundsException("Task number out of range: " + taskNum);
+    }
+
+    /**
+     * Returns the number of storage lines held by the segments before the given one.
+     *
+     * @param segmentIndex Index into the segment list.
+     * @return The number of preceding lines.
+     */
+    private int countLinesBefore(int segmentIndex) {
+        int count = 0;
+        for (int i = 0; i < segmentIndex; i++) {
+            count += segments.get(i).lines.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the file holding the segment with the given id.
+     *
+     * @param segmentId Id of the segment.
+     * @return The segment file.
+     */
+    private File segmentFile(int segmentId) {
+        return new File(directory, SEGMENT_PREFIX + segmentId + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Returns the given lines joined by line separators, encoded for writing.
+     *
+     * @param lines Lines to join.
+     * @return The encoded content.
+     */
+    private static byte[] joinLines(List<String> lines) {
+        StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append(System.lineSeparator());
+        }
+        return content.toString().getBytes();
+    }
+
+}
@@ -0,0 +1,14 @@
+package allison;
+
+/**
+ * Represents the on-disk encodings a task snapshot can be saved in.
+ * Snapshots are recognised by their header when loaded, so every format can always be read.
+ */
+public enum SnapshotFormat {
+    /** One pipe-delimited line per task, e.g. {@code D|0|submit report|2024-06-15T14:30}. */
+    TEXT,
+    /** Fixed-layout binary records, see {@link BinarySnapshot}. */
+    BINARY,
+    /** Text lines deflated in independent blocks, see {@link CompressedSnapshot}. */
+    COMPRESSED
+}
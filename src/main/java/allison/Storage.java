@@ -1,12 +1,22 @@
 package allison;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
 import java.time.LocalDateTime;
 
 import allison.task.Task;
@@ -16,146 +26,938 @@ import allison.task.Event;
 
 /**
  * Handles persistent storage of tasks by loading from and saving to a file.
+ * The file holds a snapshot of the task list, and mutations made since the snapshot
+ * are appended to a journal next to it, so a single change costs O(1) I/O.
+ * Journal records are buffered in memory until {@link #flush()} writes them in one go,
+ * and saving a full snapshot compacts the journal away. Snapshots are written to a temporary
+ * file and atomically moved into place, so a crash never leaves a truncated task list.
+ * Descriptions of loaded tasks are shared through a {@link DescriptionPool}.
+ * Snapshots record the next task ID to hand out, so IDs of deleted tasks are never reused;
+ * tasks in files written before tasks had IDs are numbered by their position in the file.
  */
 public class Storage {
-    private static final String TODO_SHORTFORM = "T";
-    private static final String DEADLINE_SHORTFORM = "D";
-    private static final String EVENT_SHORTFORM = "E";
-    private static final String FIELD_DELIMITER = "\\|";
-    private static final String DONE_VALUE = "1";
+    private static final char TODO_SHORTFORM = 'T';
+    private static final char DEADLINE_SHORTFORM = 'D';
+    private static final char EVENT_SHORTFORM = 'E';
+    private static final char FIELD_DELIMITER = '|';
+    private static final char DONE_VALUE = '1';
+    private static final int DATE_TIME_LENGTH = "yyyy-MM-ddTHH:mm".length();
+    private static final int TODO_FIELDS = 3;
+    private static final int DEADLINE_FIELDS = 4;
+    private static final int EVENT_FIELDS = 5;
+    private static final String NEXT_ID_HEADER = "#next-id|";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String ADD_RECORD = "A";
+    private static final String MARK_RECORD = "M";
+    private static final String UNMARK_RECORD = "U";
+    private static final String DELETE_RECORD = "X";
+    private static final int COMPACTION_THRESHOLD = 500;
+    private static final int PARALLEL_LOAD_THRESHOLD = 1 << 20;
+    private static final long UNKNOWN_CHECKSUM = -1;
 
     private final String filePath;
+    private final SnapshotFormat format;
+    private final Journal journal;
+    private final SaveTimer saveTimer;
+    private final Object writeLock = new Object();
+    private final DescriptionPool descriptionPool;
+    private FsyncPolicy fsyncPolicy;
+    private ArrayList<String> pendingRecords;
+    private long snapshotChecksum;
+    private long nextId;
 
     /**
-     * Constructs a Storage instance that reads from and writes to the specified file path.
+     * Constructs a Storage instance that reads from and writes to the specified file path
+     * using the pipe-delimited text format.
      *
      * @param filePath File path used for task storage.
      */
     public Storage(String filePath) {
+        this(filePath, SnapshotFormat.TEXT);
+    }
+
+    /**
+     * Constructs a Storage instance that reads from the specified file path in any format
+     * and saves snapshots to it in the given format.
+     *
+     * @param filePath File path used for task storage.
+     * @param format Format that snapshots are saved in.
+     */
+    public Storage(String filePath, SnapshotFormat format) {
         this.filePath = filePath;
+        this.format = format;
+        this.saveTimer = new SaveTimer();
+        this.journal = new Journal(filePath + JOURNAL_SUFFIX, saveTimer);
+        this.fsyncPolicy = FsyncPolicy.always();
+        this.pendingRecords = new ArrayList<>();
+        this.snapshotChecksum = UNKNOWN_CHECKSUM;
+        this.descriptionPool = new DescriptionPool();
+        this.nextId = Task.NO_ID + 1;
+    }
+
+    /**
+     * Converts a storage file into the given snapshot format, folding in its journal.
+     *
+     * @param sourcePath File path of the existing storage file, in any format.
+     * @param targetPath File path to write the converted snapshot to.
+     * @param targetFormat Format of the converted snapshot.
+     */
+    public static void convert(String sourcePath, String targetPath, SnapshotFormat targetFormat) {
+        Storage source = new Storage(sourcePath);
+        ArrayList<Task> tasks = source.load();
+        Storage target = new Storage(targetPath, targetFormat);
+        target.recordId(source.getNextId() - 1);
+        target.saveTasks(tasks);
     }
 
     /**
-     * Returns a list of tasks loaded from the storage file.
+     * Returns a list of tasks loaded from the storage file, with any journaled
+     * mutations replayed on top of it. The snapshot format is detected from the file header,
+     * compressed snapshots are inflated first, and large text snapshots are parsed in parallel.
+     * Lines that cannot be parsed hold their place until the journal is replayed, since its task numbers
+     * count them as {@link #loadLazy()} does, and are then dropped.
      * Creates the storage directory if it does not exist.
      *
      * @return List of tasks loaded from file.
      */
     public ArrayList<Task> load() {
-        ArrayList<Task> tasks = new ArrayList<>();
         File file = new File(filePath);
         ensureDirectoryExists(file);
 
-        if (!file.exists()) {
-            return tasks;
+        ByteBuffer snapshot = readSnapshot(file);
+        snapshotChecksum = checksum(snapshot.duplicate());
+        if (CompressedSnapshot.isCompressed(snapshot)) {
+            snapshot = CompressedSnapshot.decode(snapshot);
         }
-
-        try (Scanner scanner = new Scanner(file)) {
-            while (scanner.hasNext()) {
-                String line = scanner.nextLine();
-                if (!line.isEmpty()) {
-                    Task task = parseTask(line);
-                    if (task != null) {
-                        tasks.add(task);
-                    }
+        ArrayList<Task> tasks;
+        if (BinarySnapshot.isBinary(snapshot)) {
+            long snapshotNextId = BinarySnapshot.getNextId(snapshot);
+            tasks = BinarySnapshot.decode(snapshot, descriptionPool);
+            if (snapshotNextId == Task.NO_ID) {
+                assignPositionalIds(tasks);
+            }
+            recordId(snapshotNextId - 1);
+        } else {
+            long snapshotNextId = readNextIdHeader(snapshot);
+            boolean hasIds = snapshotNextId != Task.NO_ID;
+            if (snapshot.remaining() >= PARALLEL_LOAD_THRESHOLD) {
+                ParallelTaskLoader loader = new ParallelTaskLoader(this, ForkJoinPool.commonPool());
+                tasks = hasIds ? loader.parse(snapshot) : loader.parseWithPositionalIds(snapshot);
+                if (!hasIds) {
+                    recordId(tasks.size());
                 }
+            } else {
+                ArrayList<String> lines = splitLines(snapshot);
+                tasks = parseLines(hasIds ? lines : withPositionalIds(lines));
             }
-        } catch (FileNotFoundException e) {
-            System.out.println("File not found: " + filePath);
+            recordId(snapshotNextId - 1);
+        }
+        for (Task task : tasks) {
+            if (task != null) {
+                recordId(task.getId());
+            }
+        }
+
+        for (String record : journal.readRecords(snapshotChecksum)) {
+            replayRecord(record, tasks);
         }
+        tasks.removeIf(Objects::isNull);
         return tasks;
     }
 
     /**
-     * Saves the given list of tasks to the storage file.
-     * Overwrites any existing file content.
+     * Returns a list of tasks backed by the unparsed lines of the storage file, so that
+     * startup time does not depend on how many tasks are stored. Tasks are parsed when first
+     * accessed; binary snapshots are decoded eagerly as they involve no parsing.
+     * Creates the storage directory if it does not exist.
+     *
+     * @return Lazily materialized list of tasks loaded from file.
+     */
+    public LazyTaskList loadLazy() {
+        File file = new File(filePath);
+        ensureDirectoryExists(file);
+
+        ByteBuffer snapshot = readSnapshot(file);
+        snapshotChecksum = checksum(snapshot.duplicate());
+        if (CompressedSnapshot.isCompressed(snapshot)) {
+            snapshot = CompressedSnapshot.decode(snapshot);
+        }
+        LazyTaskList tasks;
+        if (BinarySnapshot.isBinary(snapshot)) {
+            long snapshotNextId = BinarySnapshot.getNextId(snapshot);
+            ArrayList<Task> decodedTasks = BinarySnapshot.decode(snapshot, descriptionPool);
+            if (snapshotNextId == Task.NO_ID) {
+                assignPositionalIds(decodedTasks);
+            }
+            recordId(snapshotNextId - 1);
+            for (Task task : decodedTasks) {
+                recordId(task.getId());
+            }
+            tasks = new LazyTaskList(new ArrayList<>(), this::parseTask);
+            tasks.addAll(decodedTasks);
+        } else {
+            long snapshotNextId = readNextIdHeader(snapshot);
+            ArrayList<String> lines = splitLines(snapshot);
+            if (snapshotNextId == Task.NO_ID) {
+                lines = withPositionalIds(lines);
+            }
+            recordId(snapshotNextId - 1);
+            tasks = new LazyTaskList(lines, this::parseTask);
+        }
+
+        for (String record : journal.readRecords(snapshotChecksum)) {
+            replayRecord(record, tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Saves the given list of tasks to the storage file as a fresh snapshot.
+     * Overwrites any existing file content and clears the journal and any unflushed
+     * records, which are now folded into the snapshot.
      *
      * @param tasks List of tasks to be saved.
      */
-    public void saveTasks(ArrayList<Task> tasks) {
+    public void saveTasks(List<Task> tasks) {
         File file = new File(this.filePath);
         ensureDirectoryExists(file);
 
-        try (FileWriter writer = new FileWriter(filePath)) {
+        ByteBuffer[] snapshot;
+        if (format == SnapshotFormat.BINARY && tasks instanceof OffHeapTaskList offHeapTasks
+                && offHeapTasks.isSnapshottable()) {
+            // The stored records already are binary snapshot records, so they are written out as they are
+            snapshot = offHeapTasks.toBinarySnapshot(getNextId());
+        } else {
+            snapshot = new ByteBuffer[] {ByteBuffer.wrap(encodeSnapshot(tasks))};
+        }
+
+        synchronized (writeLock) {
+            try {
+                writeAtomically(file, snapshot);
+            } catch (IOException e) {
+                System.out.println("Failed to save tasks");
+                return;
+            }
+            synchronized (this) {
+                pendingRecords.clear();
+            }
+            snapshotChecksum = checksum(snapshot);
+            journal.clear();
+        }
+    }
+
+    /**
+     * Returns the encoding of the given tasks in the snapshot format of this storage.
+     *
+     * @param tasks Tasks to encode.
+     * @return The encoded snapshot.
+     */
+    private byte[] encodeSnapshot(List<Task> tasks) {
+        switch (format) {
+        case BINARY:
+            return BinarySnapshot.encode(tasks, getNextId());
+        case COMPRESSED:
+            return CompressedSnapshot.encode(encodeTextSnapshot(tasks));
+        default:
+            return encodeTextSnapshot(tasks);
+        }
+    }
+
+    /**
+     * Writes all buffered journal records to disk in a single append.
+     * Safe to call from a background thread while records are still being buffered.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            ArrayList<String> records;
+            synchronized (this) {
+                records = pendingRecords;
+                pendingRecords = new ArrayList<>();
+            }
+            if (records.isEmpty()) {
+                return;
+            }
+
+            File file = new File(filePath);
+            ensureDirectoryExists(file);
+            if (snapshotChecksum == UNKNOWN_CHECKSUM) {
+                snapshotChecksum = checksum(readSnapshot(file));
+            }
+            try {
+                journal.append(records, snapshotChecksum, fsyncPolicy.shouldForce());
+            } catch (IOException e) {
+                System.out.println("Failed to save tasks");
+            }
+        }
+    }
+
+    /**
+     * Sets how often saves are forced to the storage device. Defaults to forcing every save.
+     *
+     * @param fsyncPolicy The policy to apply to subsequent saves.
+     */
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Returns the ID the next added task should get: one past the highest ID ever loaded or added,
+     * including those of tasks since deleted.
+     *
+     * @return The next task ID.
+     */
+    public synchronized long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Records that a task ID has been handed out, so that {@link #getNextId()} stays past it.
+     *
+     * @param id The task ID, or {@link Task#NO_ID}.
+     */
+    protected synchronized void recordId(long id) {
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    /**
+     * Returns the pool that descriptions of loaded tasks are shared through.
+     * New tasks should route their descriptions through it too.
+     *
+     * @return The description pool.
+     */
+    public DescriptionPool getDescriptionPool() {
+        return descriptionPool;
+    }
+
+    /**
+     * Returns the timer recording how long saves have taken.
+     *
+     * @return The save timer.
+     */
+    public SaveTimer getSaveTimer() {
+        return saveTimer;
+    }
+
+    /**
+     * Replaces the content of a file without ever exposing a partially written version:
+     * the content is written to a temporary file, forced to the storage device according to
+     * the fsync policy, and atomically moved over the target.
+     *
+     * @param target File to replace.
+     * @param content New content of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    protected void writeAtomically(File target, byte[] content) throws IOException {
+        writeAtomically(target, new ByteBuffer[] {ByteBuffer.wrap(content)});
+    }
+
+    /**
+     * Replaces the content of a file with the given buffers written one after the other,
+     * in the same way as {@link #writeAtomically(File, byte[])}. The buffers' positions are left unchanged.
+     *
+     * @param target File to replace.
+     * @param content New content of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    protected void writeAtomically(File target, ByteBuffer[] content) throws IOException {
+        Path targetPath = target.toPath();
+        Path tempPath = targetPath.resolveSibling(target.getName() + TEMP_SUFFIX);
+        boolean isForced = fsyncPolicy.shouldForce();
+
+        long writeStart = System.nanoTime();
+        long forceStart;
+        try (FileChannel out = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] remaining = new ByteBuffer[content.length];
+            long numBytes = 0;
+            for (int i = 0; i < content.length; i++) {
+                remaining[i] = content[i].duplicate();
+                numBytes += remaining[i].remaining();
+            }
+            while (numBytes > 0) {
+                numBytes -= out.write(remaining);
+            }
+            forceStart = System.nanoTime();
+            if (isForced) {
+                out.force(true);
+            }
+        }
+        long moveStart = System.nanoTime();
+        try {
+            Files.move(tempPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isForced) {
+            forceDirectory(targetPath.toAbsolutePath().getParent());
+        }
+        long moveEnd = System.nanoTime();
+        saveTimer.record(forceStart - writeStart, isForced ? moveStart - forceStart : 0, moveEnd - moveStart);
+    }
+
+    /**
+     * Forces a directory entry change, such as a rename, to the storage device where the platform allows it.
+     *
+     * @param directory The directory to force.
+     */
+    private void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for syncing on some platforms, e.g. Windows
+        }
+    }
+
+    /**
+     * Writes any buffered records and folds the journal into a fresh snapshot of the given tasks.
+     * Should be called once before the application terminates.
+     *
+     * @param tasks The current list of tasks.
+     */
+    public void close(List<Task> tasks) {
+        flush();
+        saveTasks(tasks);
+    }
+
+    /**
+     * Appends a record of a newly added task to the journal.
+     *
+     * @param task Task that was added to the end of the list.
+     */
+    public void appendAdd(Task task) {
+        recordId(task.getId());
+        appendRecord(ADD_RECORD + "|" + task.toFileString());
+    }
+
+    /**
+     * Appends a record of a task being marked as done to the journal.
+     *
+     * @param taskNum Task number that was marked (1-based index).
+     */
+    public void appendMark(int taskNum) {
+        appendRecord(MARK_RECORD + "|" + taskNum);
+    }
+
+    /**
+     * Appends a record of a task being marked as not done to the journal.
+     *
+     * @param taskNum Task number that was unmarked (1-based index).
+     */
+    public void appendUnmark(int taskNum) {
+        appendRecord(UNMARK_RECORD + "|" + taskNum);
+    }
+
+    /**
+     * Appends a record of a task being deleted to the journal.
+     *
+     * @param taskNum Task number that was deleted (1-based index).
+     */
+    public void appendDelete(int taskNum) {
+        appendRecord(DELETE_RECORD + "|" + taskNum);
+    }
+
+    /**
+     * Appends records of several tasks being deleted at once to the journal, so they are flushed in a single write.
+     * They are recorded from the last task number to the first, so each number still refers to the task it named.
+     *
+     * @param taskNums Task numbers that were deleted (1-based index), in ascending order.
+     */
+    public void appendDeletes(int[] taskNums) {
+        for (int i = taskNums.length - 1; i >= 0; i--) {
+            appendDelete(taskNums[i]);
+        }
+    }
+
+    /**
+     * Returns whether the journal has grown enough that it should be folded into a new snapshot.
+     *
+     * @return True if a call to {@link #saveTasks(List)} is due.
+     */
+    public synchronized boolean shouldCompact() {
+        return journal.getNumRecords() + pendingRecords.size() >= COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Buffers a record until the next {@link #flush()}.
+     *
+     * @param record The record to append.
+     */
+    private synchronized void appendRecord(String record) {
+        pendingRecords.add(record);
+    }
+
+    /**
+     * Returns the tasks parsed from the lines of a pipe-delimited text snapshot.
+     *
+     * @param lines The storage lines.
+     * @return List of parsed tasks, with null in place of each line that cannot be parsed.
+     */
+    private ArrayList<Task> parseLines(List<String> lines) {
+        ArrayList<Task> tasks = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            tasks.add(parseTask(line));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the non-empty lines of a pipe-delimited text snapshot.
+     *
+     * @param snapshot Buffer holding the snapshot content.
+     * @return The lines, in file order.
+     */
+    private ArrayList<String> splitLines(ByteBuffer snapshot) {
+        ArrayList<String> lines = new ArrayList<>();
+        for (String line : Charset.defaultCharset().decode(snapshot).toString().split("\\R")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the next task ID held in the header line of a text snapshot, advancing the buffer past the line.
+     * Snapshots written before tasks had IDs have no header line and are left unchanged.
+     *
+     * @param snapshot Buffer positioned at the start of the snapshot content.
+     * @return The next task ID, or {@link Task#NO_ID} if there is no valid header line.
+     */
+    private long readNextIdHeader(ByteBuffer snapshot) {
+        int start = snapshot.position();
+        int end = start;
+        while (end < snapshot.limit() && snapshot.get(end) != '\n' && snapshot.get(end) != '\r') {
+            end++;
+        }
+        String firstLine = Charset.defaultCharset().decode(snapshot.duplicate().limit(end)).toString();
+        long headerNextId = parseNextIdHeader(firstLine);
+        if (headerNextId != Task.NO_ID) {
+            snapshot.position(end);
+        }
+        return headerNextId;
+    }
+
+    /**
+     * Returns the header line recording the given next task ID, as written at the top of text snapshots.
+     *
+     * @param nextId The next task ID.
+     * @return The header line, without a line separator.
+     */
+    protected static String toNextIdHeader(long nextId) {
+        return NEXT_ID_HEADER + nextId;
+    }
+
+    /**
+     * Returns the next task ID held in a header line, or {@link Task#NO_ID} if the line is not one.
+     *
+     * @param line A line of a snapshot or manifest.
+     * @return The next task ID.
+     */
+    protected static long parseNextIdHeader(String line) {
+        if (!line.startsWith(NEXT_ID_HEADER)) {
+            return Task.NO_ID;
+        }
+        try {
+            return Math.max(Long.parseLong(line.substring(NEXT_ID_HEADER.length())), Task.NO_ID);
+        } catch (NumberFormatException e) {
+            return Task.NO_ID;
+        }
+    }
+
+    /**
+     * Returns a storage line written without an ID field with the given ID appended.
+     *
+     * @param line The storage line.
+     * @param id The task ID.
+     * @return The line with an ID field.
+     */
+    public static String withId(String line, long id) {
+        return line + FIELD_DELIMITER + id;
+    }
+
+    /**
+     * Returns storage lines written before tasks had IDs with each task's position (1-based) appended as its ID,
+     * and records those IDs as handed out.
+     *
+     * @param lines Storage lines without ID fields, one per task.
+     * @return The lines with ID fields.
+     */
+    protected ArrayList<String> withPositionalIds(List<String> lines) {
+        ArrayList<String> numberedLines = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            numberedLines.add(withId(lines.get(i), i + 1));
+        }
+        recordId(lines.size());
+        return numberedLines;
+    }
+
+    /**
+     * Gives tasks decoded from a snapshot written before tasks had IDs their position (1-based) as their ID.
+     *
+     * @param tasks The decoded tasks.
+     */
+    private void assignPositionalIds(List<Task> tasks) {
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(i + 1);
+        }
+        recordId(tasks.size());
+    }
+
+    /**
+     * Returns the pipe-delimited text encoding of the given tasks, one line per task after a header line
+     * holding the next task ID. Lines of lazily loaded tasks that were never accessed are written back unparsed.
+     *
+     * @param tasks Tasks to encode.
+     * @return The encoded snapshot.
+     */
+    private byte[] encodeTextSnapshot(List<Task> tasks) {
+        StringBuilder content = new StringBuilder();
+        content.append(toNextIdHeader(getNextId())).append(System.lineSeparator());
+        if (tasks instanceof LazyTaskList lazyTasks) {
+            for (int i = 0; i < lazyTasks.size(); i++) {
+                content.append(lazyTasks.getFileString(i)).append(System.lineSeparator());
+            }
+        } else {
             for (Task task : tasks) {
-                writer.write(task.toFileString() + System.lineSeparator());
+                content.append(task.toFileString()).append(System.lineSeparator());
             }
+        }
+        return content.toString().getBytes();
+    }
+
+    /**
+     * Applies a single journal record to the list of tasks being recovered.
+     * Records that cannot be applied are skipped.
+     *
+     * @param record The journal record.
+     * @param tasks The tasks recovered so far.
+     */
+    private void replayRecord(String record, List<Task> tasks) {
+        int typeEnd = record.indexOf(FIELD_DELIMITER);
+        String type = typeEnd < 0 ? record : record.substring(0, typeEnd);
+        String argument = record.substring(typeEnd + 1);
+        try {
+            switch (type) {
+            case ADD_RECORD:
+                Task task = parseTask(argument);
+                if (task != null) {
+                    if (task.getId() == Task.NO_ID) {
+                        // Journaled before tasks had IDs
+                        task.setId(getNextId());
+                    }
+                    recordId(task.getId());
+                    tasks.add(task);
+                }
+                break;
+            case MARK_RECORD:
+            case UNMARK_RECORD:
+                Task markedTask = tasks.get(Integer.parseInt(argument) - 1);
+                if (markedTask == null) {
+                    System.out.println("Skipping corrupted journal record: " + record);
+                    break;
+                }
+                markedTask.setIsDone(type.equals(MARK_RECORD));
+                break;
+            case DELETE_RECORD:
+                tasks.remove(Integer.parseInt(argument) - 1);
+                break;
+            default:
+                System.out.println("Skipping corrupted journal record: " + record);
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            System.out.println("Skipping corrupted journal record: " + record);
+        }
+    }
+
+    /**
+     * Returns the content of the snapshot file read into a heap buffer,
+     * or an empty buffer if it does not exist. The file is not memory-mapped, since a mapping stays open
+     * until it is garbage collected, and on some platforms an open mapping stops a later save from
+     * atomically replacing the file.
+     *
+     * @param file The snapshot file.
+     * @return Buffer holding the snapshot.
+     */
+    private ByteBuffer readSnapshot(File file) {
+        if (!file.exists()) {
+            return ByteBuffer.allocate(0);
+        }
+        try {
+            return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
         } catch (IOException e) {
-            System.out.println("Failed to save tasks");
+            System.out.println("File not found: " + filePath);
+            return ByteBuffer.allocate(0);
         }
     }
 
+    /**
+     * Returns the CRC-32 checksum of a snapshot.
+     *
+     * @param snapshot The bytes of the snapshot.
+     * @return The checksum value.
+     */
+    private long checksum(ByteBuffer snapshot) {
+        CRC32 crc = new CRC32();
+        crc.update(snapshot);
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the CRC-32 checksum of a snapshot held in consecutive buffers, leaving their positions unchanged.
+     *
+     * @param snapshot The buffers of the snapshot.
+     * @return The checksum value.
+     */
+    private long checksum(ByteBuffer[] snapshot) {
+        CRC32 crc = new CRC32();
+        for (ByteBuffer buffer : snapshot) {
+            crc.update(buffer.duplicate());
+        }
+        return crc.getValue();
+    }
+
     /**
      * Returns a Task reconstructed from a single line in the storage file.
+     * The line is read without splitting it, and date/times in the fixed
+     * {@code yyyy-MM-ddTHH:mm} layout are read directly into their numeric fields.
+     * The description may hold the delimiter, and is shared with any other task holding the same text.
+     * The task ID is read from an optional field after all others.
      *
      * @param line Line read from the storage file.
      * @return Parsed Task object, or null if parsing fails.
      */
     public Task parseTask(String line) {
-        String[] parts = line.split(FIELD_DELIMITER);
-        String type = parts[0];
-        boolean isDone = parts[1].equals(DONE_VALUE);
-        String description = parts[2];
+        int typeEnd = line.indexOf(FIELD_DELIMITER);
+        int doneEnd = typeEnd < 0 ? -1 : line.indexOf(FIELD_DELIMITER, typeEnd + 1);
+        if (typeEnd != 1 || doneEnd < 0) {
+            return null;
+        }
+        boolean isDone = doneEnd == typeEnd + 2 && line.charAt(typeEnd + 1) == DONE_VALUE;
+        int numFields = getNumFields(line.charAt(0));
+        int descriptionEnd = numFields < 0 ? -1 : findDescriptionEnd(line, numFields);
+        if (descriptionEnd <= doneEnd) {
+            return null;
+        }
+        String description = descriptionPool.intern(line.substring(doneEnd + 1, descriptionEnd));
 
         Task task;
-        switch (type) {
+        switch (line.charAt(0)) {
         case TODO_SHORTFORM:
             task = new Todo(description);
             break;
         case DEADLINE_SHORTFORM:
-            task = parseDeadlineFromFile(parts, description);
-            if (task == null) {
-                return null;
-            }
-            break;
-        case EVENT_SHORTFORM:
-            task = parseEventFromFile(parts, description);
-            if (task == null) {
-                return null;
-            }
+            task = parseDeadlineFromFile(line, descriptionEnd, description);
             break;
         default:
+            task = parseEventFromFile(line, descriptionEnd, description);
+            break;
+        }
+        if (task == null) {
             return null;
         }
         task.setIsDone(isDone);
+        try {
+            task.setId(parseId(line, descriptionEnd, numFields));
+        } catch (NumberFormatException e) {
+            return null;
+        }
         return task;
     }
 
     /**
-     * Parses a Deadline task from file data parts.
+     * Returns the description held in a storage line, without parsing the rest of it.
      *
-     * @param parts The split fields from the storage line.
+     * @param line The storage line.
+     * @return The description, or null if the line is not a task line.
+     */
+    public static String parseDescription(String line) {
+        int typeEnd = line.indexOf(FIELD_DELIMITER);
+        int doneEnd = typeEnd < 0 ? -1 : line.indexOf(FIELD_DELIMITER, typeEnd + 1);
+        if (typeEnd != 1 || doneEnd < 0) {
+            return null;
+        }
+        int numFields = getNumFields(line.charAt(0));
+        int descriptionEnd = numFields < 0 ? -1 : findDescriptionEnd(line, numFields);
+        return descriptionEnd <= doneEnd ? null : line.substring(doneEnd + 1, descriptionEnd);
+    }
+
+    /**
+     * Returns the number of fields a task type has before its ID.
+     *
+     * @param type Shortform of the task type, the first character of its storage line.
+     * @return The number of fields, or -1 if the type is unknown.
+     */
+    private static int getNumFields(char type) {
+        switch (type) {
+        case TODO_SHORTFORM:
+            return TODO_FIELDS;
+        case DEADLINE_SHORTFORM:
+            return DEADLINE_FIELDS;
+        case EVENT_SHORTFORM:
+            return EVENT_FIELDS;
+        default:
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the index of the delimiter ending the description of a storage line, or the line length if
+     * the description is the last field. The description may itself hold the delimiter, so it is found by
+     * counting back over the fields after it: the date/times of its task type, then the ID if the line has one.
+     *
+     * @param line The storage line.
+     * @param numFields Number of fields the task type has before its ID.
+     * @return The exclusive end index of the description, or a negative number if the line has too few fields.
+     */
+    private static int findDescriptionEnd(String line, int numFields) {
+        int numDelimiters = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == FIELD_DELIMITER) {
+                numDelimiters++;
+            }
+        }
+        int numTrailingFields = numFields - TODO_FIELDS + (numDelimiters >= numFields ? 1 : 0);
+        int descriptionEnd = line.length();
+        for (int field = 0; field < numTrailingFields && descriptionEnd >= 0; field++) {
+            descriptionEnd = line.lastIndexOf(FIELD_DELIMITER, descriptionEnd - 1);
+        }
+        return descriptionEnd;
+    }
+
+    /**
+     * Returns the task ID held in the field after all the others of a storage line.
+     *
+     * @param line The storage line.
+     * @param descriptionEnd Index of the delimiter after the description, or the line length if there is none.
+     * @param numFields Number of fields the task type has before its ID.
+     * @return The task ID, or {@link Task#NO_ID} if the line has no ID field.
+     * @throws NumberFormatException If the ID field is not a positive number.
+     */
+    private long parseId(String line, int descriptionEnd, int numFields) {
+        int idStart = descriptionEnd;
+        // The description is the third field, so the delimiters ending it and each later field precede the ID
+        for (int field = TODO_FIELDS - 1; field < numFields; field++) {
+            idStart = line.indexOf(FIELD_DELIMITER, idStart) + 1;
+            if (idStart == 0) {
+                return Task.NO_ID;
+            }
+        }
+        long id = Long.parseLong(line.substring(idStart, findFieldEnd(line, idStart)));
+        if (id <= Task.NO_ID) {
+            throw new NumberFormatException("Invalid task ID: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Parses a Deadline task from the date field following its description.
+     *
+     * @param line The storage line.
+     * @param descriptionEnd Index of the delimiter after the description.
      * @param description The task description.
-     * @return A Deadline task, or null if the date format is invalid.
+     * @return A Deadline task, or null if the date is missing or invalid.
      */
-    private Task parseDeadlineFromFile(String[] parts, String description) {
+    private Task parseDeadlineFromFile(String line, int descriptionEnd, String description) {
+        if (descriptionEnd == line.length()) {
+            return null;
+        }
         try {
-            LocalDateTime dueDateTime = LocalDateTime.parse(parts[3]);
+            int dueDateEnd = findFieldEnd(line, descriptionEnd + 1);
+            LocalDateTime dueDateTime = parseDateTime(line, descriptionEnd + 1, dueDateEnd);
             return new Deadline(description, dueDateTime);
-        } catch (DateTimeParseException e) {
+        } catch (DateTimeException e) {
             System.out.println("Invalid date/time format. Use yyyy-MM-ddTHH:mm");
             return null;
         }
     }
 
     /**
-     * Parses an Event task from file data parts.
+     * Parses an Event task from the two date fields following its description.
      *
-     * @param parts The split fields from the storage line.
+     * @param line The storage line.
+     * @param descriptionEnd Index of the delimiter after the description.
      * @param description The task description.
-     * @return An Event task, or null if the date format is invalid.
+     * @return An Event task, or null if a date is missing or invalid.
      */
-    private Task parseEventFromFile(String[] parts, String description) {
+    private Task parseEventFromFile(String line, int descriptionEnd, String description) {
+        if (descriptionEnd == line.length()) {
+            return null;
+        }
+        int startEnd = findFieldEnd(line, descriptionEnd + 1);
+        if (startEnd == line.length()) {
+            return null;
+        }
         try {
-            LocalDateTime start = LocalDateTime.parse(parts[3]);
-            LocalDateTime end = LocalDateTime.parse(parts[4]);
+            LocalDateTime start = parseDateTime(line, descriptionEnd + 1, startEnd);
+            LocalDateTime end = parseDateTime(line, startEnd + 1, findFieldEnd(line, startEnd + 1));
             return new Event(description, start, end);
-        } catch (DateTimeParseException e) {
+        } catch (DateTimeException e) {
             System.out.println("Invalid date/time format. Use yyyy-MM-ddTHH:mm");
             return null;
         }
     }
 
+    /**
+     * Returns the index of the delimiter ending the field that starts at the given index,
+     * or the line length if it is the last field.
+     *
+     * @param line The storage line.
+     * @param fieldStart Index of the first character of the field.
+     * @return The exclusive end index of the field.
+     */
+    private int findFieldEnd(String line, int fieldStart) {
+        int fieldEnd = line.indexOf(FIELD_DELIMITER, fieldStart);
+        return fieldEnd < 0 ? line.length() : fieldEnd;
+    }
+
+    /**
+     * Returns the date/time held in a field of the storage line.
+     * Fields in the {@code yyyy-MM-ddTHH:mm} layout are read digit by digit;
+     * anything else falls back to ISO parsing.
+     *
+     * @param line The storage line.
+     * @param start Index of the first character of the field.
+     * @param end Exclusive end index of the field.
+     * @return The parsed date/time.
+     * @throws DateTimeException If the field is not a valid date/time.
+     */
+    private LocalDateTime parseDateTime(String line, int start, int end) {
+        boolean isFixedLayout = end - start == DATE_TIME_LENGTH
+                && line.charAt(start + 4) == '-' && line.charAt(start + 7) == '-'
+                && line.charAt(start + 10) == 'T' && line.charAt(start + 13) == ':';
+        if (!isFixedLayout) {
+            return LocalDateTime.parse(line.substring(start, end));
+        }
+        int year = parseDigits(line, start, 4);
+        int month = parseDigits(line, start + 5, 2);
+        int day = parseDigits(line, start + 8, 2);
+        int hour = parseDigits(line, start + 11, 2);
+        int minute = parseDigits(line, start + 14, 2);
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Returns the non-negative number written as decimal digits at the given position.
+     *
+     * @param line The storage line.
+     * @param start Index of the first digit.
+     * @param numDigits Number of digits to read.
+     * @return The parsed number.
+     * @throws DateTimeException If any character is not a digit.
+     */
+    private int parseDigits(String line, int start, int numDigits) {
+        int value = 0;
+        for (int i = start; i < start + numDigits; i++) {
+            char digit = line.charAt(i);
+            if (digit < '0' || digit > '9') {
+                throw new DateTimeParseException("Invalid digit", line, i);
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+
     /**
      * Ensures the parent directory of the given file exists, creating it if necessary.
      *
@@ -0,0 +1,61 @@
+package allison;
+
+/**
+ * Represents a position in a {@link TaskList} from which the next page of tasks is listed.
+ * The task list moves its open cursor back when a task before it is deleted, so paging
+ * forward after a mutation neither skips nor repeats a task.
+ */
+public class TaskCursor {
+    private final int pageSize;
+    private int nextIndex;
+
+    /**
+     * Constructs a TaskCursor at the given position.
+     *
+     * @param nextIndex Index of the first task on the next page (0-based).
+     * @param pageSize Number of tasks per page.
+     */
+    public TaskCursor(int nextIndex, int pageSize) {
+        assert nextIndex >= 0 && pageSize > 0;
+        this.nextIndex = nextIndex;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the index of the first task on the next page.
+     *
+     * @return The index (0-based).
+     */
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * Returns the number of tasks per page.
+     *
+     * @return The page size.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Moves the cursor to just past a page of tasks that has just been listed.
+     *
+     * @param nextIndex Index of the first task on the following page (0-based).
+     */
+    void moveTo(int nextIndex) {
+        this.nextIndex = nextIndex;
+    }
+
+    /**
+     * Keeps the cursor on the same task after the task at the given index is deleted.
+     *
+     * @param index Index of the deleted task (0-based).
+     */
+    void onRemove(int index) {
+        if (index < nextIndex) {
+            nextIndex--;
+        }
+    }
+}
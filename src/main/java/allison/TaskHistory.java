@@ -0,0 +1,103 @@
+package allison;
+
+import java.util.ArrayDeque;
+
+/**
+ * Represents the versions of a {@link TaskList} before its most recent commands, for undo and redo.
+ * Versions are {@link PersistentTaskList}s sharing every unchanged node, so each kept version costs
+ * O(log n) expected space per task it changed rather than a copy of the list.
+ * At most the given number of versions are kept for undo; older ones are forgotten.
+ */
+public class TaskHistory {
+    private final int maxDepth;
+    // Most recent version last
+    private final ArrayDeque<PersistentTaskList> undoVersions;
+    private final ArrayDeque<PersistentTaskList> redoVersions;
+    private PersistentTaskList current;
+
+    /**
+     * Constructs a TaskHistory starting from the given version with nothing to undo.
+     *
+     * @param current The version of the list now.
+     * @param maxDepth Maximum number of commands that can be undone, at least 1.
+     */
+    public TaskHistory(PersistentTaskList current, int maxDepth) {
+        assert maxDepth > 0;
+        this.maxDepth = maxDepth;
+        this.undoVersions = new ArrayDeque<>();
+        this.redoVersions = new ArrayDeque<>();
+        this.current = current;
+    }
+
+    /**
+     * Returns the version of the list now.
+     *
+     * @return The current version.
+     */
+    public PersistentTaskList getCurrent() {
+        return current;
+    }
+
+    /**
+     * Replaces the current version after the list was changed.
+     *
+     * @param current The changed version.
+     */
+    public void setCurrent(PersistentTaskList current) {
+        this.current = current;
+    }
+
+    /**
+     * Keeps the current version for undo before a command changes the list, forgetting the oldest
+     * version if the history is full and anything that could have been redone.
+     */
+    public void checkpoint() {
+        undoVersions.addLast(current);
+        if (undoVersions.size() > maxDepth) {
+            undoVersions.removeFirst();
+        }
+        redoVersions.clear();
+    }
+
+    /**
+     * Returns whether there is a command to undo.
+     *
+     * @return True if {@link #undo()} can be called.
+     */
+    public boolean canUndo() {
+        return !undoVersions.isEmpty();
+    }
+
+    /**
+     * Returns whether there is an undone command to redo.
+     *
+     * @return True if {@link #redo()} can be called.
+     */
+    public boolean canRedo() {
+        return !redoVersions.isEmpty();
+    }
+
+    /**
+     * Steps back to the version before the most recent command.
+     *
+     * @return The version to restore the list to.
+     */
+    public PersistentTaskList undo() {
+        assert canUndo();
+        redoVersions.addLast(current);
+        current = undoVersions.removeLast();
+        return current;
+    }
+
+    /**
+     * Steps forward to the version after the most recently undone command.
+     *
+     * @return The version to restore the list to.
+     */
+    public PersistentTaskList redo() {
+        assert canRedo();
+        undoVersions.addLast(current);
+        current = redoVersions.removeLast();
+        return current;
+    }
+}
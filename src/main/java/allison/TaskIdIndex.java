@@ -0,0 +1,169 @@
+package allison;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import allison.task.Task;
+
+/**
+ * Represents an index from task IDs to the current positions of the tasks in a {@link TaskList}.
+ * Each task added is given the next slot, in list order, and a hash map finds the slot of an ID in O(1) time.
+ * A Fenwick tree counts the slots still holding a task, so the position of a slot, and the slot at a
+ * position, are found in O(log n) time however many tasks were deleted before it.
+ * Slots of deleted tasks are reclaimed once they outnumber the live ones.
+ */
+public class TaskIdIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final HashMap<Long, Integer> slotsById;
+    private long[] idsBySlot;
+    private final BitSet liveSlots;
+    // Fenwick tree over liveSlots, 1-based; its capacity is always a power of two
+    private int[] liveCounts;
+    private int numSlots;
+    private int numLive;
+
+    /**
+     * Constructs an empty TaskIdIndex.
+     */
+    public TaskIdIndex() {
+        this.slotsById = new HashMap<>();
+        this.liveSlots = new BitSet();
+        reset(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Records a task appended to the end of the task list.
+     *
+     * @param id ID of the task, or {@link Task#NO_ID} for a task without one, which still takes a position.
+     */
+    public void add(long id) {
+        if (numSlots == idsBySlot.length) {
+            grow();
+        }
+        int slot = numSlots++;
+        idsBySlot[slot] = id;
+        liveSlots.set(slot);
+        updateCount(slot, 1);
+        numLive++;
+        if (id != Task.NO_ID) {
+            slotsById.put(id, slot);
+        }
+    }
+
+    /**
+     * Records the deletion of the task at the given position.
+     *
+     * @param index Index of the deleted task (0-based).
+     */
+    public void remove(int index) {
+        int slot = findSlot(index);
+        liveSlots.clear(slot);
+        updateCount(slot, -1);
+        numLive--;
+        slotsById.remove(idsBySlot[slot], slot);
+        if (numSlots > INITIAL_CAPACITY && numLive < numSlots / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the current position of the task with the given ID.
+     *
+     * @param id The task ID.
+     * @return Index of the task (0-based), or -1 if no task in the list has the ID.
+     */
+    public int indexOf(long id) {
+        Integer slot = slotsById.get(id);
+        return slot == null ? -1 : countLiveUpTo(slot) - 1;
+    }
+
+    /**
+     * Returns the number of live slots up to and including the given one.
+     *
+     * @param slot Index of the slot (0-based).
+     * @return The number of live slots.
+     */
+    private int countLiveUpTo(int slot) {
+        int count = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            count += liveCounts[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the slot of the task at the given position, descending the Fenwick tree.
+     *
+     * @param index Index of the task (0-based).
+     * @return Index of its slot (0-based).
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    private int findSlot(int index) {
+        if (index < 0 || index >= numLive) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numLive);
+        }
+        int remaining = index + 1;
+        int slot = 0;
+        for (int step = idsBySlot.length; step > 0; step >>= 1) {
+            if (slot + step < liveCounts.length && liveCounts[slot + step] < remaining) {
+                slot += step;
+                remaining -= liveCounts[slot];
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Adds to the live count of a slot.
+     *
+     * @param slot Index of the slot (0-based).
+     * @param delta Amount to add.
+     */
+    private void updateCount(int slot, int delta) {
+        for (int i = slot + 1; i < liveCounts.length; i += i & -i) {
+            liveCounts[i] += delta;
+        }
+    }
+
+    /**
+     * Doubles the number of slots. Only the tree node covering the whole doubled range is non-zero
+     * among the new ones, so the tree is extended without recounting.
+     */
+    private void grow() {
+        int capacity = idsBySlot.length * 2;
+        idsBySlot = Arrays.copyOf(idsBySlot, capacity);
+        liveCounts = Arrays.copyOf(liveCounts, capacity + 1);
+        liveCounts[capacity] = numLive;
+    }
+
+    /**
+     * Moves the live slots to the front in order, dropping those of deleted tasks.
+     */
+    private void compact() {
+        long[] liveIds = new long[numLive];
+        int numCopied = 0;
+        for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+            liveIds[numCopied++] = idsBySlot[slot];
+        }
+        reset(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, numLive)) * 2));
+        for (long id : liveIds) {
+            add(id);
+        }
+    }
+
+    /**
+     * Empties the index, leaving room for the given number of slots.
+     *
+     * @param capacity The number of slots, a power of two.
+     */
+    private void reset(int capacity) {
+        slotsById.clear();
+        liveSlots.clear();
+        idsBySlot = new long[capacity];
+        liveCounts = new int[capacity + 1];
+        numSlots = 0;
+        numLive = 0;
+    }
+}
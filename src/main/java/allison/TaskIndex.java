@@ -0,0 +1,36 @@
+package allison;
+
+import allison.task.Task;
+
+/**
+ * Represents a secondary index over the tasks in a {@link TaskList}.
+ * The task list keeps every index it has built up to date as tasks are added and removed,
+ * so queries never have to rescan the whole list.
+ */
+public interface TaskIndex {
+    /**
+     * Adds a task that was appended to the end of the task list.
+     *
+     * @param task The added task.
+     */
+    void add(Task task);
+
+    /**
+     * Removes a task that was deleted from the task list.
+     *
+     * @param task The removed task.
+     */
+    void remove(Task task);
+
+    /**
+     * Returns whether a task held by an index is the given task. A versioned list stores a marked task
+     * as a copy with the same ID, and indexes keep holding the earlier version, so tasks with IDs match by ID.
+     *
+     * @param indexedTask The task held by the index.
+     * @param task The task as it is in the list.
+     * @return True if both are the same task.
+     */
+    static boolean isSameTask(Task indexedTask, Task task) {
+        return indexedTask == task || (task.getId() != Task.NO_ID && indexedTask.getId() == task.getId());
+    }
+}
@@ -1,21 +1,105 @@
 package allison;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import allison.task.Event;
 import allison.task.Task;
 
 /**
  * Represents a list of tasks and provides operations to manage them.
+ * Tracks whether the list has been mutated since it was last persisted.
+ * Once the list is large enough for scans to be slow, secondary indexes are built on the
+ * first query that needs them and kept up to date as tasks are added and removed.
+ * With a {@link VersionedTaskList} backing, listing, finding and saving read an immutable
+ * snapshot of the list, so they can run on other threads while commands change it.
+ * Tasks are given IDs as they are added, and can be looked up by ID as well as by position.
+ * Bulk operations change a whole selection of tasks at once, deleting them in a single pass over the list.
+ * With history enabled on a versioned list, each command's prior version of the list is kept
+ * as a {@link PersistentTaskList} for undo and redo.
  */
 public class TaskList {
-    private ArrayList<Task> tasks;
+    private static final int INDEX_THRESHOLD = 1024;
+
+    private List<Task> tasks;
+    private boolean isDirty;
+    private final ArrayList<TaskIndex> indexes;
+    private KeywordIndex keywordIndex;
+    private TrigramIndex trigramIndex;
+    private FuzzyIndex fuzzyIndex;
+    private DeadlineIndex deadlineIndex;
+    private EventIndex eventIndex;
+    private TaskStats stats;
+    private UrgencyIndex urgencyIndex;
+    private TaskIdIndex idIndex;
+    private TaskCursor cursor;
+    private long nextId;
+    private int historyDepth;
+    private TaskHistory history;
 
     /**
      * Constructs a TaskList with the given list of tasks.
+     * The list may be a {@link LazyTaskList}, in which case tasks are only parsed when touched.
      *
      * @param tasks Initial list of tasks.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
         this.tasks = tasks;
+        this.isDirty = false;
+        this.indexes = new ArrayList<>();
+        this.nextId = Task.NO_ID + 1;
+    }
+
+    /**
+     * Constructs a TaskList holding the given tasks in the given backing structure.
+     * Tree, columnar, off-heap and versioned backings copy the tasks, so a lazily loaded list is fully parsed up front.
+     * They hold only tasks, so lines that could not be parsed are dropped from the copy.
+     *
+     * @param tasks Initial list of tasks.
+     * @param backing Data structure the tasks are kept in.
+     */
+    public TaskList(List<Task> tasks, ListBacking backing) {
+        this(copyInto(tasks, backing));
+    }
+
+    /**
+     * Returns the given tasks held in the given backing structure.
+     *
+     * @param tasks Tasks to hold.
+     * @param backing Data structure to hold them in.
+     * @return The backing list.
+     */
+    private static List<Task> copyInto(List<Task> tasks, ListBacking backing) {
+        switch (backing) {
+        case TREE:
+            return new TreeTaskList(getReadableTasks(tasks));
+        case COLUMNAR:
+            return new ColumnarTaskList(getReadableTasks(tasks));
+        case OFF_HEAP:
+            return new OffHeapTaskList(getReadableTasks(tasks));
+        case VERSIONED:
+            return new VersionedTaskList(getReadableTasks(tasks));
+        default:
+            return tasks;
+        }
+    }
+
+    /**
+     * Returns the tasks that could be read from storage, leaving out those that read as null.
+     *
+     * @param tasks Tasks to copy, possibly lazily loaded.
+     * @return The readable tasks, in order.
+     */
+    private static ArrayList<Task> getReadableTasks(List<Task> tasks) {
+        ArrayList<Task> readableTasks = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (task != null) {
+                readableTasks.add(task);
+            }
+        }
+        return readableTasks;
     }
 
     /**
@@ -23,7 +107,21 @@ public class TaskList {
      *
      * @return The list of tasks.
      */
-    public ArrayList<Task> getTasks() {
+    public List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * Returns the tasks as they are now, for reading while the list may be changing.
+     * With a versioned backing this is an immutable snapshot that later changes do not affect;
+     * other backings return the list itself, which must then only be read by the thread changing it.
+     *
+     * @return The tasks to read.
+     */
+    public List<Task> getSnapshot() {
+        if (this.tasks instanceof VersionedTaskList versionedTasks) {
+            return versionedTasks.snapshot();
+        }
         return this.tasks;
     }
 
@@ -37,12 +135,70 @@ public class TaskList {
     }
 
     /**
-     * Adds a task to the task list.
+     * Returns whether the list has been mutated since it was last marked clean.
+     *
+     * @return True if there are changes that have not been persisted.
+     */
+    public boolean isDirty() {
+        return this.isDirty;
+    }
+
+    /**
+     * Marks the list as having no unpersisted changes.
+     */
+    public void markClean() {
+        this.isDirty = false;
+    }
+
+    /**
+     * Sets the ID the next added task will get, such as the one recorded by storage.
+     * IDs already held by tasks in the list should be below it.
+     *
+     * @param nextId The next task ID.
+     */
+    public void setNextId(long nextId) {
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
+    /**
+     * Keeps the version of the list before each later command, so up to the given number of commands
+     * can be undone. Only a versioned list can keep history, since its versions are shared with the list
+     * rather than copied from it.
+     *
+     * @param maxDepth Maximum number of commands that can be undone, or 0 to keep no history.
+     * @throws IllegalArgumentException If the depth is negative, or positive for a list that is not versioned.
+     */
+    public void enableHistory(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Undo depth cannot be negative: " + maxDepth);
+        }
+        if (maxDepth > 0 && !(this.tasks instanceof VersionedTaskList)) {
+            throw new IllegalArgumentException("Undo history needs a versioned list");
+        }
+        this.historyDepth = maxDepth;
+        this.history = null;
+    }
+
+    /**
+     * Adds a task to the task list, giving it the next ID unless it already has one.
      *
      * @param task Task to be added.
      */
     public void addTask(Task task) {
+        checkpoint();
+        if (task.getId() == Task.NO_ID) {
+            task.setId(this.nextId);
+        }
+        this.nextId = Math.max(this.nextId, task.getId() + 1);
         this.tasks.add(task);
+        for (TaskIndex index : this.indexes) {
+            index.add(task);
+        }
+        if (this.idIndex != null) {
+            this.idIndex.add(task.getId());
+        }
+        recordChange();
+        this.isDirty = true;
     }
 
     /**
@@ -53,12 +209,93 @@ public class TaskList {
      * @throws AllisonException If the task number is out of range.
      */
     public Task removeTask(int taskNum) throws AllisonException {
-        validateTaskNum(taskNum, "delete <task number>");
-        Task task = this.tasks.get(taskNum - 1);
+        Task task = getTask(taskNum, "delete <task number>");
+        checkpoint();
         this.tasks.remove(taskNum - 1);
+        for (TaskIndex index : this.indexes) {
+            index.remove(task);
+        }
+        if (this.idIndex != null) {
+            this.idIndex.remove(taskNum - 1);
+        }
+        if (this.cursor != null) {
+            this.cursor.onRemove(taskNum - 1);
+        }
+        recordChange();
+        this.isDirty = true;
         return task;
     }
 
+    /**
+     * Removes and returns the tasks at the specified task numbers in one pass over the list,
+     * rather than shifting the rest of the list once per task.
+     * No task is removed unless every task number is valid.
+     *
+     * @param taskNums Task numbers to remove (1-based index), in ascending order without repeats.
+     * @return Removed tasks, in list order.
+     * @throws AllisonException If a task number is out of range or its task could not be read from storage.
+     */
+    public ArrayList<Task> removeTasks(int[] taskNums) throws AllisonException {
+        ArrayList<Task> removedTasks = new ArrayList<>(taskNums.length);
+        int[] indexes = new int[taskNums.length];
+        for (int i = 0; i < taskNums.length; i++) {
+            removedTasks.add(getTask(taskNums[i], "delete <task numbers>"));
+            indexes[i] = taskNums[i] - 1;
+        }
+        checkpoint();
+        removeAll(this.tasks, indexes);
+        for (Task task : removedTasks) {
+            for (TaskIndex index : this.indexes) {
+                index.remove(task);
+            }
+        }
+        // Later positions are dropped first, so earlier ones still refer to the same task
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            if (this.idIndex != null) {
+                this.idIndex.remove(indexes[i]);
+            }
+            if (this.cursor != null) {
+                this.cursor.onRemove(indexes[i]);
+            }
+        }
+        recordChange();
+        this.isDirty = true;
+        return removedTasks;
+    }
+
+    /**
+     * Removes the elements at the given indexes from a list. Array-backed lists are compacted in a single pass;
+     * other lists have their elements removed from the back, which costs each of them O(log n) at most.
+     *
+     * @param tasks The list to remove from.
+     * @param indexes Indexes to remove (0-based), in ascending order without repeats.
+     */
+    private static void removeAll(List<Task> tasks, int[] indexes) {
+        if (indexes.length == 0) {
+            return;
+        }
+        if (tasks instanceof LazyTaskList lazyTasks) {
+            lazyTasks.removeAll(indexes);
+        } else if (tasks instanceof VersionedTaskList versionedTasks) {
+            versionedTasks.removeAll(indexes);
+        } else if (tasks instanceof ArrayList<Task> arrayTasks) {
+            int numKept = indexes[0];
+            int nextRemoved = 0;
+            for (int i = indexes[0]; i < arrayTasks.size(); i++) {
+                if (nextRemoved < indexes.length && indexes[nextRemoved] == i) {
+                    nextRemoved++;
+                } else {
+                    arrayTasks.set(numKept++, arrayTasks.get(i));
+                }
+            }
+            arrayTasks.subList(numKept, arrayTasks.size()).clear();
+        } else {
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                tasks.remove(indexes[i]);
+            }
+        }
+    }
+
     /**
      * Marks the task at the specified task number as done.
      *
@@ -67,9 +304,9 @@ public class TaskList {
      * @throws AllisonException If the task number is out of range.
      */
     public Task markTask(int taskNum) throws AllisonException {
-        validateTaskNum(taskNum, "mark <task number>");
-        this.tasks.get(taskNum - 1).markAsDone();
-        return this.tasks.get(taskNum - 1);
+        getTask(taskNum, "mark <task number>");
+        checkpoint();
+        return setDone(taskNum, true, "mark <task number>");
     }
 
     /**
@@ -80,9 +317,267 @@ public class TaskList {
      * @throws AllisonException If the task number is out of range.
      */
     public Task unmarkTask(int taskNum) throws AllisonException {
-        validateTaskNum(taskNum, "unmark <task number>");
-        this.tasks.get(taskNum - 1).markAsUndone();
-        return this.tasks.get(taskNum - 1);
+        getTask(taskNum, "unmark <task number>");
+        checkpoint();
+        return setDone(taskNum, false, "unmark <task number>");
+    }
+
+    /**
+     * Marks the task at the specified task number as done or not done, without keeping a version for undo.
+     *
+     * @param taskNum Task number to change (1-based index).
+     * @param isDone Whether the task is to be done.
+     * @param commandUsage The correct usage string shown in error messages.
+     * @return Updated task.
+     * @throws AllisonException If the task number is out of range.
+     */
+    private Task setDone(int taskNum, boolean isDone, String commandUsage) throws AllisonException {
+        Task previous = getTask(taskNum, commandUsage);
+        Task task = copyForUpdate(previous);
+        boolean wasDone = task.isDone();
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsUndone();
+        }
+        // Lists such as ColumnarTaskList hand out copies, so the change is written back
+        this.tasks.set(taskNum - 1, task);
+        if (task != previous && task.getId() == Task.NO_ID) {
+            // Indexes can only match a copy without an ID by identity, so it replaces the task in them
+            for (TaskIndex index : this.indexes) {
+                index.remove(previous);
+                index.add(task);
+            }
+        } else {
+            // A copy with an ID keeps the description and dates the other indexes look up, and they match it by ID
+            if (this.stats != null) {
+                this.stats.update(task, wasDone);
+            }
+            if (this.urgencyIndex != null) {
+                this.urgencyIndex.update(task, wasDone);
+            }
+        }
+        recordChange();
+        this.isDirty = true;
+        return task;
+    }
+
+    /**
+     * Marks the tasks at the specified task numbers as done.
+     * No task is changed unless every task number is valid.
+     *
+     * @param taskNums Task numbers to mark (1-based index).
+     * @return Updated tasks, in the order given.
+     * @throws AllisonException If a task number is out of range or its task could not be read from storage.
+     */
+    public ArrayList<Task> markTasks(int[] taskNums) throws AllisonException {
+        for (int taskNum : taskNums) {
+            getTask(taskNum, "mark <task numbers>");
+        }
+        checkpoint();
+        ArrayList<Task> markedTasks = new ArrayList<>(taskNums.length);
+        for (int taskNum : taskNums) {
+            markedTasks.add(setDone(taskNum, true, "mark <task numbers>"));
+        }
+        return markedTasks;
+    }
+
+    /**
+     * Marks the tasks at the specified task numbers as not done.
+     * No task is changed unless every task number is valid.
+     *
+     * @param taskNums Task numbers to unmark (1-based index).
+     * @return Updated tasks, in the order given.
+     * @throws AllisonException If a task number is out of range or its task could not be read from storage.
+     */
+    public ArrayList<Task> unmarkTasks(int[] taskNums) throws AllisonException {
+        for (int taskNum : taskNums) {
+            getTask(taskNum, "unmark <task numbers>");
+        }
+        checkpoint();
+        ArrayList<Task> unmarkedTasks = new ArrayList<>(taskNums.length);
+        for (int taskNum : taskNums) {
+            unmarkedTasks.add(setDone(taskNum, false, "unmark <task numbers>"));
+        }
+        return unmarkedTasks;
+    }
+
+    /**
+     * Returns the task numbers of the tasks in a selection, in ascending order without repeats.
+     * Selecting done tasks scans the list, parsing every lazily loaded task.
+     *
+     * @param selection The selected task numbers, ranges, IDs and whether done tasks are selected.
+     * @param commandUsage The correct usage string shown in error messages.
+     * @return The selected task numbers (1-based index).
+     * @throws AllisonException If a task number is out of range, no task has a selected ID, or nothing is selected.
+     */
+    public int[] resolveSelection(TaskSelection selection, String commandUsage) throws AllisonException {
+        BitSet selectedIndexes = new BitSet();
+        for (int[] range : selection.getRanges()) {
+            validateTaskNum(range[0], commandUsage);
+            validateTaskNum(range[1], commandUsage);
+            selectedIndexes.set(range[0] - 1, range[1]);
+        }
+        for (long id : selection.getIds()) {
+            selectedIndexes.set(findTaskNum(id, commandUsage) - 1);
+        }
+        if (selection.isDoneSelected()) {
+            List<Task> snapshot = getSnapshot();
+            for (int i = 0; i < snapshot.size(); i++) {
+                Task task = snapshot.get(i);
+                if (task != null && task.isDone()) {
+                    selectedIndexes.set(i);
+                }
+            }
+        }
+        if (selectedIndexes.isEmpty()) {
+            throw new AllisonException("No tasks selected", commandUsage);
+        }
+        int[] taskNums = new int[selectedIndexes.cardinality()];
+        int numSelected = 0;
+        for (int i = selectedIndexes.nextSetBit(0); i >= 0; i = selectedIndexes.nextSetBit(i + 1)) {
+            taskNums[numSelected++] = i + 1;
+        }
+        return taskNums;
+    }
+
+    /**
+     * Returns the task at the specified task number after validating it.
+     *
+     * @param taskNum Task number (1-based index).
+     * @param commandUsage The correct usage string shown in error messages.
+     * @return The task at that position.
+     * @throws AllisonException If the task number is out of range or the task could not be read from storage.
+     */
+    private Task getTask(int taskNum, String commandUsage) throws AllisonException {
+        validateTaskNum(taskNum, commandUsage);
+        Task task = this.tasks.get(taskNum - 1);
+        if (task == null) {
+            throw new AllisonException("Task " + taskNum + " could not be read from storage", commandUsage);
+        }
+        return task;
+    }
+
+    /**
+     * Returns a task ready to be changed and written back with set().
+     * Snapshots of a versioned list, including versions kept for undo, still hold the task,
+     * so a copy is returned to leave them unchanged.
+     *
+     * @param task The task as read from the list.
+     * @return The task, or a copy of it.
+     */
+    private Task copyForUpdate(Task task) {
+        return this.tasks instanceof VersionedTaskList ? task.copy() : task;
+    }
+
+    /**
+     * Restores the list to its version before the most recent command not yet undone.
+     *
+     * @throws AllisonException If there is nothing to undo.
+     */
+    public void undo() throws AllisonException {
+        if (this.history == null || !this.history.canUndo()) {
+            throw new AllisonException("Nothing to undo", "undo");
+        }
+        restore(this.history.undo());
+    }
+
+    /**
+     * Restores the list to its version after the most recently undone command.
+     *
+     * @throws AllisonException If there is nothing to redo.
+     */
+    public void redo() throws AllisonException {
+        if (this.history == null || !this.history.canRedo()) {
+            throw new AllisonException("Nothing to redo", "redo");
+        }
+        restore(this.history.redo());
+    }
+
+    /**
+     * Keeps the version of the list as it is now for undo, before a command changes it.
+     * The version is the versioned list's own snapshot, so keeping it copies nothing.
+     */
+    private void checkpoint() {
+        if (this.historyDepth == 0) {
+            return;
+        }
+        if (this.history == null) {
+            this.history = new TaskHistory(getSnapshotVersion(), this.historyDepth);
+        }
+        this.history.checkpoint();
+    }
+
+    /**
+     * Takes the version of the list after a change as the current version kept in the history.
+     */
+    private void recordChange() {
+        if (this.history != null) {
+            this.history.setCurrent(getSnapshotVersion());
+        }
+    }
+
+    /**
+     * Returns the latest version of a list keeping history, which is always versioned.
+     *
+     * @return The latest version.
+     */
+    private PersistentTaskList getSnapshotVersion() {
+        return ((VersionedTaskList) this.tasks).snapshot();
+    }
+
+    /**
+     * Publishes a version from the history as the latest version of the list.
+     * Indexes and the cursor are dropped, to be rebuilt when next needed.
+     *
+     * @param version The version to restore.
+     */
+    private void restore(PersistentTaskList version) {
+        ((VersionedTaskList) this.tasks).restore(version);
+        this.indexes.clear();
+        this.keywordIndex = null;
+        this.trigramIndex = null;
+        this.fuzzyIndex = null;
+        this.deadlineIndex = null;
+        this.eventIndex = null;
+        this.stats = null;
+        this.urgencyIndex = null;
+        this.idIndex = null;
+        this.cursor = null;
+        this.isDirty = true;
+    }
+
+    /**
+     * Returns the current task number of the task with the given ID.
+     * The ID index is built on the first such lookup, which parses every lazily loaded task;
+     * after that a lookup takes O(1) time to find the task and O(log n) time to count its position.
+     *
+     * @param id The task ID.
+     * @param commandUsage The correct usage string shown in error messages.
+     * @return The task number (1-based index).
+     * @throws AllisonException If no task in the list has the ID.
+     */
+    public int findTaskNum(long id, String commandUsage) throws AllisonException {
+        int index = getIdIndex().indexOf(id);
+        if (index < 0) {
+            throw new AllisonException("No task with ID #" + id, commandUsage);
+        }
+        return index + 1;
+    }
+
+    /**
+     * Returns the ID index, building it on first use, which parses every lazily loaded task.
+     *
+     * @return The ID index.
+     */
+    private TaskIdIndex getIdIndex() {
+        if (this.idIndex == null) {
+            this.idIndex = new TaskIdIndex();
+            for (Task task : getSnapshot()) {
+                this.idIndex.add(task == null ? Task.NO_ID : task.getId());
+            }
+        }
+        return this.idIndex;
     }
 
     /**
@@ -104,15 +599,27 @@ public class TaskList {
      * @return StringBuilder containing the task list.
      */
     public StringBuilder listTasks() {
+        return listTasks(0, getNumTasks());
+    }
+
+    /**
+     * Returns a formatted window of tasks with their indices, touching only the tasks in the window.
+     *
+     * @param startIndex Index of the first task to list (0-based).
+     * @param count Maximum number of tasks to list.
+     * @return StringBuilder containing the tasks in the window, empty if it starts past the end.
+     */
+    public StringBuilder listTasks(int startIndex, int count) {
         StringBuilder tasksStr = new StringBuilder();
-        int numTasks = getNumTasks();
-        for (int i = 0; i < numTasks; i++) {
-            Task task = this.tasks.get(i);
+        List<Task> snapshot = getSnapshot();
+        int endIndex = (int) Math.min(snapshot.size(), (long) startIndex + count);
+        for (int i = startIndex; i < endIndex; i++) {
+            Task task = snapshot.get(i);
             if (task != null) {
                 tasksStr.append(i + 1).append(". ").append(task);
 
                 // Add new line for each task as formatting (except the last task)
-                if (i < numTasks - 1) {
+                if (i < endIndex - 1) {
                     tasksStr.append("\n");
                 }
             }
@@ -120,8 +627,47 @@ public class TaskList {
         return tasksStr;
     }
 
+    /**
+     * Opens a cursor for paging through the list from the given position, replacing any open cursor.
+     *
+     * @param startIndex Index of the first task on the first page (0-based).
+     * @param pageSize Number of tasks per page.
+     * @return The open cursor.
+     */
+    public TaskCursor openCursor(int startIndex, int pageSize) {
+        this.cursor = new TaskCursor(startIndex, pageSize);
+        return this.cursor;
+    }
+
+    /**
+     * Returns the open cursor.
+     *
+     * @return The cursor, or null if none has been opened.
+     */
+    public TaskCursor getCursor() {
+        return this.cursor;
+    }
+
+    /**
+     * Returns the formatted page of tasks at the open cursor and moves the cursor past it.
+     *
+     * @return StringBuilder containing the tasks on the page.
+     * @throws AllisonException If no cursor is open.
+     */
+    public StringBuilder listNextPage() throws AllisonException {
+        if (this.cursor == null) {
+            throw new AllisonException("No list to continue", "list <page> <size>");
+        }
+        int startIndex = Math.min(this.cursor.getNextIndex(), getNumTasks());
+        StringBuilder page = listTasks(startIndex, this.cursor.getPageSize());
+        this.cursor.moveTo(startIndex + Math.min(this.cursor.getPageSize(), getNumTasks() - startIndex));
+        return page;
+    }
+
     /**
      * Returns a list of tasks whose descriptions contain the given keyword (case-insensitive).
+     * Large lists are answered from a trigram index, unless the keyword is too short to have a trigram.
+     * Otherwise the list is scanned, and lazily loaded tasks are only parsed if they match.
      *
      * @param keyword The keyword to search for.
      * @return A list of matching tasks.
@@ -129,11 +675,21 @@ public class TaskList {
     public ArrayList<Task> findTasks(String keyword) {
         ArrayList<Task> matchedTasks = new ArrayList<>();
         String lowerKeyword = keyword.toLowerCase();
+        boolean isIndexable = lowerKeyword.length() >= TrigramIndex.GRAM_LENGTH;
+        if (isIndexable && (this.trigramIndex != null || shouldBuildIndex())) {
+            if (this.trigramIndex == null) {
+                this.trigramIndex = new TrigramIndex();
+                buildIndex(this.trigramIndex);
+            }
+            return toCurrentTasks(this.trigramIndex.find(keyword));
+        }
 
-        for (Task task : this.tasks) {
-            if (task != null) {
-                boolean taskContainsKeyword = task.getDescription().toLowerCase().contains(lowerKeyword);
-                if (taskContainsKeyword) {
+        List<Task> snapshot = getSnapshot();
+        for (int i = 0; i < snapshot.size(); i++) {
+            String description = getDescription(snapshot, i);
+            if (description != null && description.toLowerCase().contains(lowerKeyword)) {
+                Task task = snapshot.get(i);
+                if (task != null) {
                     matchedTasks.add(task);
                 }
             }
@@ -141,4 +697,261 @@ public class TaskList {
 
         return matchedTasks;
     }
+
+    /**
+     * Returns a list of tasks whose descriptions contain every word of the query as a whole word
+     * (case-insensitive). Large lists are answered from a keyword index instead of a scan.
+     *
+     * @param query One or more words to search for.
+     * @return A list of matching tasks.
+     */
+    public ArrayList<Task> findTasksByWord(String query) {
+        if (this.keywordIndex != null || shouldBuildIndex()) {
+            if (this.keywordIndex == null) {
+                this.keywordIndex = new KeywordIndex();
+                buildIndex(this.keywordIndex);
+            }
+            return toCurrentTasks(this.keywordIndex.find(query));
+        }
+
+        ArrayList<Task> matchedTasks = new ArrayList<>();
+        ArrayList<String> queryWords = KeywordIndex.tokenize(query);
+        if (queryWords.isEmpty()) {
+            return matchedTasks;
+        }
+        List<Task> snapshot = getSnapshot();
+        for (int i = 0; i < snapshot.size(); i++) {
+            String description = getDescription(snapshot, i);
+            if (description != null && KeywordIndex.tokenize(description).containsAll(queryWords)) {
+                Task task = snapshot.get(i);
+                if (task != null) {
+                    matchedTasks.add(task);
+                }
+            }
+        }
+        return matchedTasks;
+    }
+
+    /**
+     * Returns a list of tasks whose descriptions hold, for every word of the query, a word spelt within a few edits
+     * of it (case-insensitive), so that typos still find the task. Large lists are answered from a BK-tree over
+     * the words of every description instead of computing the edit distance to each of them.
+     *
+     * @param query One or more words to search for.
+     * @return A list of matching tasks.
+     */
+    public ArrayList<Task> findTasksFuzzy(String query) {
+        if (this.fuzzyIndex != null || shouldBuildIndex()) {
+            if (this.fuzzyIndex == null) {
+                this.fuzzyIndex = new FuzzyIndex();
+                buildIndex(this.fuzzyIndex);
+            }
+            return toCurrentTasks(this.fuzzyIndex.find(query));
+        }
+
+        ArrayList<Task> matchedTasks = new ArrayList<>();
+        ArrayList<String> queryWords = KeywordIndex.tokenize(query);
+        if (queryWords.isEmpty()) {
+            return matchedTasks;
+        }
+        List<Task> snapshot = getSnapshot();
+        for (int i = 0; i < snapshot.size(); i++) {
+            String description = getDescription(snapshot, i);
+            if (description != null && FuzzyIndex.matches(description, queryWords)) {
+                Task task = snapshot.get(i);
+                if (task != null) {
+                    matchedTasks.add(task);
+                }
+            }
+        }
+        return matchedTasks;
+    }
+
+    /**
+     * Returns a list of the deadlines due within the given range (inclusive), ordered by due date/time.
+     * The deadline index is built on the first such query, which parses every lazily loaded task.
+     *
+     * @param from Earliest due date/time to include.
+     * @param to Latest due date/time to include.
+     * @return A list of matching deadlines.
+     */
+    public ArrayList<Task> findDeadlines(LocalDateTime from, LocalDateTime to) {
+        if (this.tasks instanceof ColumnarTaskList columnarTasks) {
+            return columnarTasks.findDeadlines(from, to);
+        }
+        if (this.tasks instanceof OffHeapTaskList offHeapTasks) {
+            return offHeapTasks.findDeadlines(from, to);
+        }
+        if (this.deadlineIndex == null) {
+            this.deadlineIndex = new DeadlineIndex();
+            buildIndex(this.deadlineIndex);
+        }
+        return toCurrentTasks(this.deadlineIndex.find(from, to));
+    }
+
+    /**
+     * Returns a list of the events that share any moment with the given period, ordered by start.
+     *
+     * @param from Start of the period (inclusive).
+     * @param to End of the period (inclusive).
+     * @return A list of overlapping events.
+     */
+    public ArrayList<Task> findEvents(LocalDateTime from, LocalDateTime to) {
+        if (this.tasks instanceof ColumnarTaskList columnarTasks) {
+            return columnarTasks.findEvents(from, to, false);
+        }
+        if (this.tasks instanceof OffHeapTaskList offHeapTasks) {
+            return offHeapTasks.findEvents(from, to, false);
+        }
+        return toCurrentTasks(getEventIndex().findOverlapping(from, to));
+    }
+
+    /**
+     * Returns a list of the events in the list that clash with the given event, ordered by start.
+     * Events that end exactly when the other starts do not clash.
+     *
+     * @param event The event to check, which need not be in the list.
+     * @return A list of clashing events.
+     */
+    public ArrayList<Task> findEventConflicts(Event event) {
+        if (this.tasks instanceof ColumnarTaskList columnarTasks) {
+            return columnarTasks.findEvents(event.getStart(), event.getEnd(), true);
+        }
+        if (this.tasks instanceof OffHeapTaskList offHeapTasks) {
+            return offHeapTasks.findEvents(event.getStart(), event.getEnd(), true);
+        }
+        return toCurrentTasks(getEventIndex().findConflicts(event));
+    }
+
+    /**
+     * Returns counts of the tasks by type and completion. They are computed on first use,
+     * which parses every lazily loaded task, and kept up to date from then on.
+     *
+     * @return The task statistics.
+     */
+    public TaskStats getStats() {
+        if (this.stats == null) {
+            this.stats = new TaskStats();
+            // Counts need no task identity, so they are kept up to date for every backing
+            buildIndex(this.stats);
+        }
+        return this.stats;
+    }
+
+    /**
+     * Returns the pending deadlines and events due or starting soonest, most urgent first.
+     * The urgency index is built on the first such query, which parses every lazily loaded task,
+     * and kept up to date from then on, so later queries take O(k log n) time.
+     *
+     * @param count Maximum number of tasks to return.
+     * @return Up to count pending tasks.
+     */
+    public ArrayList<Task> findMostUrgent(int count) {
+        if (this.urgencyIndex == null) {
+            this.urgencyIndex = new UrgencyIndex();
+            // Tasks are matched by ID as well as identity, so the index is kept up to date for every backing
+            buildIndex(this.urgencyIndex);
+        }
+        return this.urgencyIndex.findMostUrgent(count);
+    }
+
+    /**
+     * Returns the event index, building it on first use, which parses every lazily loaded task.
+     *
+     * @return The event index.
+     */
+    private EventIndex getEventIndex() {
+        if (this.eventIndex == null) {
+            this.eventIndex = new EventIndex();
+            buildIndex(this.eventIndex);
+        }
+        return this.eventIndex;
+    }
+
+    /**
+     * Returns whether the list is large enough to be worth indexing, and can keep an index up to date.
+     *
+     * @return True if a text index should be built.
+     */
+    private boolean shouldBuildIndex() {
+        return this.tasks.size() >= INDEX_THRESHOLD && isIndexable();
+    }
+
+    /**
+     * Returns whether the list holds tasks that keep their identity, as lasting indexes require.
+     * Columnar and off-heap lists build a new copy on every read, so they are scanned instead.
+     * Indexes over a versioned list are only used by the thread changing it; other threads read snapshots.
+     *
+     * @return True if lasting indexes can be built over the list.
+     */
+    private boolean isIndexable() {
+        return !(this.tasks instanceof ColumnarTaskList) && !(this.tasks instanceof OffHeapTaskList);
+    }
+
+    /**
+     * Returns the tasks found in an index as they are now in the list. A versioned list stores a marked task
+     * as a copy, which indexes match by ID instead of replacing, so they may still hold an earlier version.
+     *
+     * @param indexedTasks Tasks returned by an index, replaced in place.
+     * @return The same list, holding the current version of each task.
+     */
+    private ArrayList<Task> toCurrentTasks(ArrayList<Task> indexedTasks) {
+        if (!(this.tasks instanceof VersionedTaskList)) {
+            return indexedTasks;
+        }
+        TaskIdIndex ids = getIdIndex();
+        for (int i = 0; i < indexedTasks.size(); i++) {
+            long id = indexedTasks.get(i).getId();
+            if (id != Task.NO_ID) {
+                indexedTasks.set(i, this.tasks.get(ids.indexOf(id)));
+            }
+        }
+        return indexedTasks;
+    }
+
+    /**
+     * Adds every readable task to a newly created index and registers it for updates.
+     *
+     * @param index The empty index to fill.
+     */
+    private void buildIndex(TaskIndex index) {
+        this.indexes.add(fillIndex(index));
+    }
+
+    /**
+     * Adds every readable task in a snapshot of the list to a newly created index without registering it for updates.
+     *
+     * @param index The empty index to fill.
+     * @param <T> Type of the index.
+     * @return The filled index.
+     */
+    private <T extends TaskIndex> T fillIndex(T index) {
+        for (Task task : getSnapshot()) {
+            if (task != null) {
+                index.add(task);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the description of the task at the given index, without parsing it if it is lazily loaded.
+     *
+     * @param snapshot The list being read, as returned by {@link #getSnapshot()}.
+     * @param index Index of the task (0-based).
+     * @return The description, or null if the task could not be read.
+     */
+    private static String getDescription(List<Task> snapshot, int index) {
+        if (snapshot instanceof LazyTaskList lazyTasks) {
+            return lazyTasks.getDescription(index);
+        }
+        if (snapshot instanceof ColumnarTaskList columnarTasks) {
+            return columnarTasks.getDescription(index);
+        }
+        if (snapshot instanceof OffHeapTaskList offHeapTasks) {
+            return offHeapTasks.getDescription(index);
+        }
+        Task task = snapshot.get(index);
+        return task == null ? null : task.getDescription();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package allison;
+
+import java.util.ArrayList;
+
+/**
+ * Represents the tasks a bulk mark, unmark or delete command applies to, such as "3,7,9-20", "#12,#15"
+ * or "done". Task numbers and IDs are resolved against a {@link TaskList} with
+ * {@link TaskList#resolveSelection(TaskSelection, String)}.
+ */
+public class TaskSelection {
+    private final ArrayList<int[]> ranges;
+    private final ArrayList<Long> ids;
+    private boolean isDoneSelected;
+
+    /**
+     * Constructs an empty TaskSelection.
+     */
+    public TaskSelection() {
+        this.ranges = new ArrayList<>();
+        this.ids = new ArrayList<>();
+        this.isDoneSelected = false;
+    }
+
+    /**
+     * Adds the tasks numbered from one task number to another, inclusive.
+     *
+     * @param from First task number (1-based index).
+     * @param to Last task number (1-based index), not less than the first.
+     */
+    public void addRange(int from, int to) {
+        assert from <= to;
+        ranges.add(new int[] {from, to});
+    }
+
+    /**
+     * Adds the task with the given ID.
+     *
+     * @param id The task ID.
+     */
+    public void addId(long id) {
+        ids.add(id);
+    }
+
+    /**
+     * Adds every task that is done.
+     */
+    public void selectDone() {
+        isDoneSelected = true;
+    }
+
+    /**
+     * Returns the ranges of task numbers selected, each as its first and last task number.
+     *
+     * @return The selected ranges.
+     */
+    public ArrayList<int[]> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Returns the IDs of the tasks selected.
+     *
+     * @return The selected IDs.
+     */
+    public ArrayList<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns whether every done task is selected.
+     *
+     * @return True if done tasks are selected.
+     */
+    public boolean isDoneSelected() {
+        return isDoneSelected;
+    }
+}
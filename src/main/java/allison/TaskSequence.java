@@ -0,0 +1,67 @@
+package allison;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import allison.task.Task;
+
+/**
+ * Represents the numbers an index gives the tasks it holds, in the order they were added.
+ * Tasks are only appended to the list and indexes are filled in list order, so ascending numbers are list order,
+ * and posting lists keyed by them keep list order while tasks are added to and removed from them in O(1) time.
+ * A task is found by identity, or by its ID for the copy a versioned list stores when a task is marked,
+ * as {@link TaskIndex#isSameTask(Task, Task)} matches them.
+ */
+public class TaskSequence {
+    private final IdentityHashMap<Task, Long> sequenceNumbers = new IdentityHashMap<>();
+    private final HashMap<Long, Task> tasksById = new HashMap<>();
+    private long nextSequenceNumber;
+
+    /**
+     * Returns the number of a task, giving it the next number if it is not held yet.
+     *
+     * @param task The task.
+     * @return Its sequence number.
+     */
+    public long add(Task task) {
+        Long sequenceNumber = sequenceNumbers.get(task);
+        if (sequenceNumber == null) {
+            sequenceNumber = nextSequenceNumber++;
+            sequenceNumbers.put(task, sequenceNumber);
+            if (task.getId() != Task.NO_ID) {
+                tasksById.put(task.getId(), task);
+            }
+        }
+        return sequenceNumber;
+    }
+
+    /**
+     * Forgets a task and returns the number it had.
+     *
+     * @param task The task, or a copy of it with the same ID.
+     * @return Its sequence number, or -1 if it is not held.
+     */
+    public long remove(Task task) {
+        Task heldTask = findHeldTask(task);
+        if (heldTask == null) {
+            return -1;
+        }
+        if (heldTask.getId() != Task.NO_ID) {
+            tasksById.remove(heldTask.getId());
+        }
+        return sequenceNumbers.remove(heldTask);
+    }
+
+    /**
+     * Returns the held version of a task.
+     *
+     * @param task The task, or a copy of it with the same ID.
+     * @return The task as it was added, or null if it is not held.
+     */
+    private Task findHeldTask(Task task) {
+        if (sequenceNumbers.containsKey(task)) {
+            return task;
+        }
+        return task.getId() == Task.NO_ID ? null : tasksById.get(task.getId());
+    }
+}
@@ -0,0 +1,166 @@
+package allison;
+
+import java.time.LocalDateTime;
+import java.util.TreeMap;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+
+/**
+ * Represents counts of the tasks in a {@link TaskList} by type and completion, kept up to date
+ * as tasks are added, removed, marked and unmarked, so a summary takes O(1) time however long the list is.
+ * Pending deadlines are also kept sorted by due date/time, and the number of overdue ones is carried
+ * forward from the previous query, so only deadlines that fell due since then are counted.
+ */
+public class TaskStats implements TaskIndex {
+    /**
+     * Represents the kinds of task counted separately.
+     */
+    public enum Type {
+        TODO,
+        DEADLINE,
+        EVENT
+    }
+
+    private final int[] numTasks = new int[Type.values().length];
+    private final int[] numDone = new int[Type.values().length];
+    private final TreeMap<LocalDateTime, Integer> pendingDeadlinesByDueDate = new TreeMap<>();
+    // Pending deadlines due strictly before this date/time are counted in numOverdue
+    private LocalDateTime overdueFrontier = LocalDateTime.MIN;
+    private int numOverdue;
+
+    @Override
+    public void add(Task task) {
+        Type type = typeOf(task);
+        numTasks[type.ordinal()]++;
+        if (task.isDone()) {
+            numDone[type.ordinal()]++;
+        } else if (task instanceof Deadline deadline) {
+            addPendingDeadline(deadline.getDueDate());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        Type type = typeOf(task);
+        numTasks[type.ordinal()]--;
+        if (task.isDone()) {
+            numDone[type.ordinal()]--;
+        } else if (task instanceof Deadline deadline) {
+            removePendingDeadline(deadline.getDueDate());
+        }
+    }
+
+    /**
+     * Records that a task in the list was marked or unmarked.
+     *
+     * @param task The task, with its new done status.
+     * @param wasDone Its done status before the change.
+     */
+    public void update(Task task, boolean wasDone) {
+        if (task.isDone() == wasDone) {
+            return;
+        }
+        numDone[typeOf(task).ordinal()] += task.isDone() ? 1 : -1;
+        if (task instanceof Deadline deadline) {
+            if (task.isDone()) {
+                removePendingDeadline(deadline.getDueDate());
+            } else {
+                addPendingDeadline(deadline.getDueDate());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tasks of the given type.
+     *
+     * @param type The type of task.
+     * @return The number of tasks.
+     */
+    public int getNumTasks(Type type) {
+        return numTasks[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of done tasks of the given type.
+     *
+     * @param type The type of task.
+     * @return The number of done tasks.
+     */
+    public int getNumDone(Type type) {
+        return numDone[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of pending deadlines due before the given date/time. Takes O(log n + k) time,
+     * where k is the number of distinct due date/times passed since the previous query.
+     *
+     * @param now The current date/time.
+     * @return The number of overdue deadlines.
+     */
+    public int getNumOverdue(LocalDateTime now) {
+        if (now.isAfter(overdueFrontier)) {
+            numOverdue += countPendingDeadlines(overdueFrontier, now);
+        } else {
+            numOverdue -= countPendingDeadlines(now, overdueFrontier);
+        }
+        overdueFrontier = now;
+        return numOverdue;
+    }
+
+    /**
+     * Returns the number of pending deadlines due at or after one date/time and before another.
+     *
+     * @param from Earliest due date/time to count.
+     * @param to Due date/time to stop counting at (exclusive).
+     * @return The number of pending deadlines in the range.
+     */
+    private int countPendingDeadlines(LocalDateTime from, LocalDateTime to) {
+        int count = 0;
+        for (int numDeadlines : pendingDeadlinesByDueDate.subMap(from, true, to, false).values()) {
+            count += numDeadlines;
+        }
+        return count;
+    }
+
+    /**
+     * Records a pending deadline due at the given date/time.
+     *
+     * @param dueDate The due date/time.
+     */
+    private void addPendingDeadline(LocalDateTime dueDate) {
+        pendingDeadlinesByDueDate.merge(dueDate, 1, Integer::sum);
+        if (dueDate.isBefore(overdueFrontier)) {
+            numOverdue++;
+        }
+    }
+
+    /**
+     * Forgets a pending deadline due at the given date/time.
+     *
+     * @param dueDate The due date/time.
+     */
+    private void removePendingDeadline(LocalDateTime dueDate) {
+        pendingDeadlinesByDueDate.computeIfPresent(dueDate, (key, count) -> count == 1 ? null : count - 1);
+        if (dueDate.isBefore(overdueFrontier)) {
+            numOverdue--;
+        }
+    }
+
+    /**
+     * Returns the type a task is counted under. Plain tasks are counted as todos.
+     *
+     * @param task The task.
+     * @return Its type.
+     */
+    private static Type typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return Type.DEADLINE;
+        } else if (task instanceof Event) {
+            return Type.EVENT;
+        } else {
+            return Type.TODO;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package allison;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Random;
+
+import allison.task.Task;
+
+/**
+ * Represents a list of tasks stored in a randomized binary search tree ordered by position.
+ * Every node records the size of its subtree, so getting, inserting and removing a task by
+ * position all take O(log n) expected time, instead of shifting every following task as an
+ * array-backed list does when a task near the front is deleted.
+ */
+public class TreeTaskList extends AbstractList<Task> {
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Represents a node holding one task, with the size of the subtree rooted at it.
+     */
+    private static class Node {
+        private Task task;
+        private Node left;
+        private Node right;
+        private int size;
+
+        private Node(Task task) {
+            this.task = task;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * Constructs an empty TreeTaskList.
+     */
+    public TreeTaskList() {
+        this.root = null;
+    }
+
+    /**
+     * Constructs a TreeTaskList holding the given tasks in order, built as a balanced tree in O(n) time.
+     *
+     * @param tasks Initial tasks.
+     */
+    public TreeTaskList(Collection<? extends Task> tasks) {
+        Task[] initialTasks = tasks.toArray(new Task[0]);
+        this.root = build(initialTasks, 0, initialTasks.length);
+    }
+
+    @Override
+    public Task get(int index) {
+        return findNode(index).task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Node node = findNode(index);
+        Task previous = node.task;
+        node.task = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        root = insert(root, index, new Node(task));
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        root = delete(root, index);
+        modCount++;
+        return task;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the root of a balanced tree holding the given range of tasks in order.
+     *
+     * @param tasks Tasks to place in the tree.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return Root of the tree, or null if the range is empty.
+     */
+    private static Node build(Task[] tasks, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node node = new Node(tasks[middle]);
+        node.left = build(tasks, from, middle);
+        node.right = build(tasks, middle + 1, to);
+        updateSize(node);
+        return node;
+    }
+
+    /**
+     * Returns the node at the given position.
+     *
+     * @param index Position of the node (0-based).
+     * @return The node.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    private Node findNode(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the root of the given subtree after inserting a node at the given position.
+     * The new node becomes the subtree root with probability 1 / (size + 1), which keeps the
+     * tree shaped as if it had been built from a random insertion order.
+     *
+     * @param node Root of the subtree.
+     * @param index Position within the subtree to insert at.
+     * @param newNode Node to insert.
+     * @return The new root of the subtree.
+     */
+    private Node insert(Node node, int index, Node newNode) {
+        if (node == null || random.nextInt(node.size + 1) == 0) {
+            Node[] halves = split(node, index);
+            newNode.left = halves[0];
+            newNode.right = halves[1];
+            updateSize(newNode);
+            return newNode;
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, newNode);
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, newNode);
+        }
+        updateSize(node);
+        return node;
+    }
+
+    /**
+     * Returns the root of the given subtree after removing the node at the given position.
+     *
+     * @param node Root of the subtree.
+     * @param index Position within the subtree to remove.
+     * @return The new root of the subtree.
+     */
+    private Node delete(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index == leftSize) {
+            return join(node.left, node.right);
+        }
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else {
+            node.right = delete(node.right, index - leftSize - 1);
+        }
+        updateSize(node);
+        return node;
+    }
+
+    /**
+     * Splits a subtree into the nodes before the given position and the nodes from it onwards.
+     *
+     * @param node Root of the subtree.
+     * @param index Number of nodes to place in the first half.
+     * @return The roots of the two halves.
+     */
+    private static Node[] split(Node node, int index) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            Node[] halves = split(node.left, index);
+            node.left = halves[1];
+            updateSize(node);
+            return new Node[] {halves[0], node};
+        }
+        Node[] halves = split(node.right, index - leftSize - 1);
+        node.right = halves[0];
+        updateSize(node);
+        return new Node[] {node, halves[1]};
+    }
+
+    /**
+     * Returns the root of a tree holding the nodes of the first subtree followed by those of the second.
+     * Each root is kept on top with probability proportional to its subtree size.
+     *
+     * @param first Root of the subtree whose nodes come first.
+     * @param second Root of the subtree whose nodes come second.
+     * @return The root of the joined tree.
+     */
+    private Node join(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (random.nextInt(first.size + second.size) < first.size) {
+            first.right = join(first.right, second);
+            updateSize(first);
+            return first;
+        }
+        second.left = join(first, second.left);
+        updateSize(second);
+        return second;
+    }
+
+    /**
+     * Returns the number of nodes in a subtree.
+     *
+     * @param node Root of the subtree, or null.
+     * @return The subtree size.
+     */
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Recomputes the subtree size of a node from its children.
+     *
+     * @param node The node to update.
+     */
+    private static void updateSize(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
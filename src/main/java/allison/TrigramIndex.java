@@ -0,0 +1,107 @@
+package allison;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+import allison.task.Task;
+
+/**
+ * Represents an index from every three-character sequence of the lowercased task descriptions
+ * to the tasks containing it. A substring query can only match tasks holding all of its trigrams,
+ * so intersecting their posting lists narrows the search to a few candidates, which are then
+ * checked with {@link String#contains}. Results are exactly those of a case-insensitive scan.
+ * Posting lists are keyed by {@link TaskSequence} numbers, so a task is added or removed in O(1) time per trigram.
+ */
+public class TrigramIndex implements TaskIndex {
+    /** Length of the sequences indexed, and the shortest query the index can answer. */
+    public static final int GRAM_LENGTH = 3;
+
+    // Candidates left at this count are cheaper to verify than to intersect further
+    private static final int VERIFY_THRESHOLD = 16;
+
+    private final HashMap<Long, LinkedHashMap<Long, Task>> postings = new HashMap<>();
+    private final TaskSequence sequence = new TaskSequence();
+
+    @Override
+    public void add(Task task) {
+        String description = task.getDescription().toLowerCase();
+        if (description.length() < GRAM_LENGTH) {
+            return;
+        }
+        long sequenceNumber = sequence.add(task);
+        for (int i = 0; i + GRAM_LENGTH <= description.length(); i++) {
+            // A trigram repeated in one description is only posted once
+            postings.computeIfAbsent(trigramAt(description, i), key -> new LinkedHashMap<>(2))
+                    .put(sequenceNumber, task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        long sequenceNumber = sequence.remove(task);
+        if (sequenceNumber < 0) {
+            return;
+        }
+        String description = task.getDescription().toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= description.length(); i++) {
+            long trigram = trigramAt(description, i);
+            LinkedHashMap<Long, Task> posting = postings.get(trigram);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(sequenceNumber);
+            if (posting.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain the given keyword (case-insensitive), in list order.
+     *
+     * @param keyword The keyword to search for, at least {@link #GRAM_LENGTH} characters long once lowercased.
+     * @return A list of matching tasks.
+     */
+    public ArrayList<Task> find(String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
+        assert lowerKeyword.length() >= GRAM_LENGTH;
+
+        ArrayList<LinkedHashMap<Long, Task>> queryPostings = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= lowerKeyword.length(); i++) {
+            LinkedHashMap<Long, Task> posting = postings.get(trigramAt(lowerKeyword, i));
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            queryPostings.add(posting);
+        }
+        queryPostings.sort(Comparator.comparingInt(LinkedHashMap::size));
+
+        LinkedHashMap<Long, Task> smallest = queryPostings.get(0);
+        ArrayList<Long> candidates = new ArrayList<>(smallest.keySet());
+        for (int i = 1; i < queryPostings.size() && candidates.size() > VERIFY_THRESHOLD; i++) {
+            LinkedHashMap<Long, Task> posting = queryPostings.get(i);
+            candidates.removeIf(sequenceNumber -> !posting.containsKey(sequenceNumber));
+        }
+        ArrayList<Task> matchedTasks = new ArrayList<>(candidates.size());
+        for (long sequenceNumber : candidates) {
+            Task task = smallest.get(sequenceNumber);
+            if (task.getDescription().toLowerCase().contains(lowerKeyword)) {
+                matchedTasks.add(task);
+            }
+        }
+        return matchedTasks;
+    }
+
+    /**
+     * Returns the three characters starting at the given index packed into a single key.
+     *
+     * @param text Lowercased text.
+     * @param index Index of the first character.
+     * @return The packed trigram.
+     */
+    private static long trigramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+}
@@ -1,5 +1,6 @@
 package allison;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 import allison.task.Task;
@@ -9,6 +10,7 @@ import allison.task.Task;
  * Responsible for generating responses shown to the user.
  */
 public class Ui {
+    private static final String[] STATS_LABELS = {"Todos", "Deadlines", "Events"};
 
     /**
      * Returns the welcome message shown when the application starts.
@@ -58,6 +60,26 @@ public class Ui {
         return "Here are the tasks in your list:" + "\n" + tasks.listTasks();
     }
 
+    /**
+     * Returns a formatted page of the task list, noting where it sits in the whole list.
+     *
+     * @param page Formatted tasks on the page
+     * @param startIndex Index of the first task on the page (0-based)
+     * @param endIndex Index just past the last task on the page
+     * @param numTasks Total number of tasks in the list
+     * @return Formatted task page message
+     */
+    public String listPage(StringBuilder page, int startIndex, int endIndex, int numTasks) {
+        if (startIndex >= endIndex) {
+            return "There are no more tasks to show. You have " + numTasks + " tasks in the list.";
+        }
+        String footer = "\nShowing tasks " + (startIndex + 1) + "-" + endIndex + " of " + numTasks + ".";
+        if (endIndex < numTasks) {
+            footer += " Type 'list next' for more.";
+        }
+        return "Here are the tasks in your list:\n" + page + footer;
+    }
+
     /**
      * Returns a confirmation message after adding a task.
      *
@@ -67,7 +89,7 @@ public class Ui {
      */
     public String addTask(Task task, int numTasks) {
         assert task != null;
-        return "Got it. I've added this task:\n" + task.toString() + "\n"
+        return "Got it. I've added this task as #" + task.getId() + ":\n" + task.toString() + "\n"
                 + "Now you have " + numTasks + " tasks in the list.";
     }
 
@@ -106,6 +128,77 @@ public class Ui {
                 + "Now you have " + numTasks + " tasks in the list.";
     }
 
+    /**
+     * Returns a confirmation message after marking several tasks as done at once.
+     *
+     * @param tasks The tasks that were marked
+     * @return Formatted mark-tasks message
+     */
+    public String markTasks(ArrayList<Task> tasks) {
+        return "Nice! I've marked these " + tasks.size() + " tasks as done:\n" + joinTasks(tasks);
+    }
+
+    /**
+     * Returns a confirmation message after unmarking several tasks at once.
+     *
+     * @param tasks The tasks that were unmarked
+     * @return Formatted unmark-tasks message
+     */
+    public String unmarkTasks(ArrayList<Task> tasks) {
+        return "OK, I've marked these " + tasks.size() + " tasks as not done yet:\n" + joinTasks(tasks);
+    }
+
+    /**
+     * Returns a confirmation message after deleting several tasks at once.
+     *
+     * @param tasks The tasks that were removed
+     * @param numTasks Total number of tasks after deletion
+     * @return Formatted delete-tasks message
+     */
+    public String deleteTasks(ArrayList<Task> tasks, int numTasks) {
+        return "Noted. I've removed these " + tasks.size() + " tasks:\n" + joinTasks(tasks) + "\n"
+                + "Now you have " + numTasks + " tasks in the list.";
+    }
+
+    /**
+     * Returns a confirmation message after undoing a command.
+     *
+     * @param numTasks Total number of tasks after undoing
+     * @return Formatted undo message
+     */
+    public String undo(int numTasks) {
+        return "Undone! The list is back to how it was before your last change.\n"
+                + "Now you have " + numTasks + " tasks in the list.";
+    }
+
+    /**
+     * Returns a confirmation message after redoing an undone command.
+     *
+     * @param numTasks Total number of tasks after redoing
+     * @return Formatted redo message
+     */
+    public String redo(int numTasks) {
+        return "Redone! Your undone change is back.\n"
+                + "Now you have " + numTasks + " tasks in the list.";
+    }
+
+    /**
+     * Returns the given tasks one per line.
+     *
+     * @param tasks The tasks to show
+     * @return The tasks separated by new lines
+     */
+    private String joinTasks(ArrayList<Task> tasks) {
+        StringBuilder lines = new StringBuilder();
+        for (Task task : tasks) {
+            if (lines.length() > 0) {
+                lines.append("\n");
+            }
+            lines.append(task);
+        }
+        return lines.toString();
+    }
+
     /**
      * Returns a formatted list of tasks matching a search query.
      *
@@ -117,6 +210,100 @@ public class Ui {
         return "Here are the matching tasks in your list:\n" + taskList.listTasks();
     }
 
+    /**
+     * Returns a formatted add-event message, followed by any existing events it clashes with.
+     *
+     * @param event Event that was added
+     * @param numTasks Total number of tasks after adding
+     * @param conflicts Existing events whose periods overlap the new event
+     * @return Formatted add-event message
+     */
+    public String addEvent(Task event, int numTasks, ArrayList<Task> conflicts) {
+        String message = addTask(event, numTasks);
+        if (conflicts.isEmpty()) {
+            return message;
+        }
+        TaskList taskList = new TaskList(conflicts);
+        return message + "\nHeads up, it clashes with:\n" + taskList.listTasks();
+    }
+
+    /**
+     * Returns a formatted list of events overlapping a queried period.
+     *
+     * @param tasks List of overlapping events, ordered by start
+     * @return Formatted event list message
+     */
+    public String findEvents(ArrayList<Task> tasks) {
+        TaskList taskList = new TaskList(tasks);
+        return "Here are the events in that period:\n" + taskList.listTasks();
+    }
+
+    /**
+     * Returns a formatted list of deadlines due within a queried range.
+     *
+     * @param tasks List of matching deadlines, ordered by due date
+     * @return Formatted due-deadline list message
+     */
+    public String findDue(ArrayList<Task> tasks) {
+        TaskList taskList = new TaskList(tasks);
+        return "Here are the deadlines due in that period:\n" + taskList.listTasks();
+    }
+
+    /**
+     * Returns a formatted list of the most urgent pending tasks.
+     *
+     * @param tasks Pending deadlines and events, most urgent first
+     * @return Formatted next-up message
+     */
+    public String showNextUp(ArrayList<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "Nothing coming up! You have no pending deadlines or events.";
+        }
+        TaskList taskList = new TaskList(tasks);
+        return "Here is what needs your attention next:\n" + taskList.listTasks();
+    }
+
+    /**
+     * Returns a summary of the tasks of each type that are done and pending, and of the overdue deadlines.
+     *
+     * @param stats Counts of the tasks in the list
+     * @param now The current date/time, before which pending deadlines are overdue
+     * @return Formatted statistics message
+     */
+    public String showStats(TaskStats stats, LocalDateTime now) {
+        StringBuilder message = new StringBuilder("Here is a summary of your tasks:");
+        int numTasks = 0;
+        int numDone = 0;
+        for (TaskStats.Type type : TaskStats.Type.values()) {
+            int numTasksOfType = stats.getNumTasks(type);
+            int numDoneOfType = stats.getNumDone(type);
+            message.append("\n").append(STATS_LABELS[type.ordinal()]).append(": ").append(numTasksOfType)
+                    .append(" (").append(numDoneOfType).append(" done, ")
+                    .append(numTasksOfType - numDoneOfType).append(" pending");
+            if (type == TaskStats.Type.DEADLINE) {
+                message.append(", ").append(stats.getNumOverdue(now)).append(" overdue");
+            }
+            message.append(")");
+            numTasks += numTasksOfType;
+            numDone += numDoneOfType;
+        }
+        message.append("\nTotal: ").append(numTasks).append(" (").append(numDone).append(" done, ")
+                .append(numTasks - numDone).append(" pending)");
+        return message.toString();
+    }
+
+    /**
+     * Returns a report of how many descriptions are shared and the memory this saves.
+     *
+     * @param descriptions Pool that task descriptions are shared through
+     * @return Formatted memory report message
+     */
+    public String showMemory(DescriptionPool descriptions) {
+        return "Of the " + descriptions.getNumLookups() + " task descriptions loaded or added, "
+                + descriptions.getNumUnique() + " are distinct.\n"
+                + "Sharing repeated descriptions saves about " + descriptions.getBytesSaved() / 1024 + " KB.";
+    }
+
     /**
      * Returns a help message listing all supported commands and their usage.
      *
@@ -129,21 +316,61 @@ public class Ui {
                 + "    Show this help page\n\n"
 
                 + "  list\n"
-                + "    List all tasks\n\n"
+                + "    List all tasks, a page at a time if there are many\n\n"
+
+                + "  list <page> <size>\n"
+                + "  list next\n"
+                + "    List one page of tasks, or the page after the last one listed\n\n"
+
+                + "  nextup [count]\n"
+                + "    Show the pending deadlines and events due or starting soonest\n\n"
+
+                + "  stats\n"
+                + "    Show how many tasks are done, pending and overdue\n\n"
+
+                + "  memory\n"
+                + "    Show how much memory sharing repeated descriptions saves\n\n"
 
                 + "Task management:\n"
                 + "  mark <task number>\n"
-                + "    Mark a task as done\n\n"
+                + "  mark #<id>\n"
+                + "    Mark a task as done\n"
+                + "  mark <task numbers>\n"
+                + "    Mark tasks as done, e.g. mark 1-5,8,#12 or mark done\n\n"
 
                 + "  unmark <task number>\n"
-                + "    Mark a task as not done\n\n"
+                + "  unmark #<id>\n"
+                + "    Mark a task as not done\n"
+                + "  unmark <task numbers>\n"
+                + "    Mark tasks as not done, e.g. unmark 1-5,8,#12 or unmark done\n\n"
 
                 + "  delete <task number>\n"
-                + "    Delete a task\n\n"
+                + "  delete #<id>\n"
+                + "    Delete a task\n"
+                + "  delete <task numbers>\n"
+                + "    Delete tasks, e.g. delete 1-5,8,#12 or delete done\n\n"
+
+                + "  undo\n"
+                + "  redo\n"
+                + "    Undo the last change to the list, or redo the last undone one\n"
+                + "    (start with -Dallison.undo=<number of changes> to keep undo history)\n\n"
 
                 + "  find <keyword>\n"
                 + "    Find tasks containing the keyword\n\n"
 
+                + "  findword <word>\n"
+                + "    Find tasks containing the whole word\n\n"
+
+                + "  find~ <word>\n"
+                + "    Find tasks containing the word, even if misspelt\n\n"
+
+                + "  due /by <time>\n"
+                + "  due /from <start> /to <end>\n"
+                + "    List deadlines due by a time, or within a period\n\n"
+
+                + "  events /from <start> /to <end>\n"
+                + "    List events taking place within a period\n\n"
+
                 + "Task creation:\n"
                 + "  todo <description>\n"
                 + "    Create a todo task\n\n"
@@ -0,0 +1,114 @@
+package allison;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+
+/**
+ * Represents an index of the pending deadlines and events sorted by when they need attention:
+ * deadlines by due date/time and events by start. The most urgent k tasks are read off the front
+ * in O(k log n) time, and tasks leave and rejoin the index as they are marked and unmarked.
+ * Done tasks and todos are ignored. Lists such as ColumnarTaskList hand out a new copy on every read,
+ * so a task is matched by its ID as well as by identity.
+ */
+public class UrgencyIndex implements TaskIndex {
+    private final TreeMap<LocalDateTime, ArrayList<Task>> pendingTasksByTime = new TreeMap<>();
+
+    @Override
+    public void add(Task task) {
+        LocalDateTime time = getUrgencyTime(task);
+        if (time != null && !task.isDone()) {
+            pendingTasksByTime.computeIfAbsent(time, key -> new ArrayList<>(1)).add(task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (!task.isDone()) {
+            removePending(task);
+        }
+    }
+
+    /**
+     * Records that a task in the list was marked or unmarked.
+     *
+     * @param task The task, with its new done status.
+     * @param wasDone Its done status before the change.
+     */
+    public void update(Task task, boolean wasDone) {
+        if (task.isDone() == wasDone) {
+            return;
+        }
+        if (task.isDone()) {
+            removePending(task);
+        } else {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns the pending deadlines and events due or starting soonest, overdue ones first,
+     * with tasks at the same date/time in the order they were added.
+     *
+     * @param count Maximum number of tasks to return.
+     * @return Up to count tasks, most urgent first.
+     */
+    public ArrayList<Task> findMostUrgent(int count) {
+        ArrayList<Task> urgentTasks = new ArrayList<>(Math.min(count, 16));
+        Map.Entry<LocalDateTime, ArrayList<Task>> entry = pendingTasksByTime.firstEntry();
+        while (entry != null && urgentTasks.size() < count) {
+            ArrayList<Task> tasks = entry.getValue();
+            for (int i = 0; i < tasks.size() && urgentTasks.size() < count; i++) {
+                urgentTasks.add(tasks.get(i));
+            }
+            entry = pendingTasksByTime.higherEntry(entry.getKey());
+        }
+        return urgentTasks;
+    }
+
+    /**
+     * Forgets a task that is no longer pending in the list.
+     *
+     * @param task The task.
+     */
+    private void removePending(Task task) {
+        LocalDateTime time = getUrgencyTime(task);
+        if (time == null) {
+            return;
+        }
+        ArrayList<Task> tasks = pendingTasksByTime.get(time);
+        if (tasks == null) {
+            return;
+        }
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            if (TaskIndex.isSameTask(tasks.get(i), task)) {
+                tasks.remove(i);
+                break;
+            }
+        }
+        if (tasks.isEmpty()) {
+            pendingTasksByTime.remove(time);
+        }
+    }
+
+    /**
+     * Returns the date/time a task is sorted by.
+     *
+     * @param task The task.
+     * @return The due date/time of a deadline, the start of an event, or null for other tasks.
+     */
+    private static LocalDateTime getUrgencyTime(Task task) {
+        if (task instanceof Deadline deadline) {
+            return deadline.getDueDate();
+        } else if (task instanceof Event event) {
+            return event.getStart();
+        } else {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package allison;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+
+import allison.task.Task;
+
+/**
+ * Represents a list of tasks changed by a single writer thread and read from any number of threads.
+ * Every change publishes a new {@link PersistentTaskList} version, so a reader holding a
+ * {@link #snapshot()} sees a consistent list that later changes never affect, without any locking.
+ * Tasks in a published version must not be modified in place; a changed task is stored as a copy.
+ */
+public class VersionedTaskList extends AbstractList<Task> {
+    private volatile PersistentTaskList current;
+
+    /**
+     * Constructs an empty VersionedTaskList.
+     */
+    public VersionedTaskList() {
+        this.current = PersistentTaskList.empty();
+    }
+
+    /**
+     * Constructs a VersionedTaskList holding the given tasks in order.
+     *
+     * @param tasks Initial tasks.
+     */
+    public VersionedTaskList(Collection<? extends Task> tasks) {
+        this.current = PersistentTaskList.of(tasks);
+    }
+
+    /**
+     * Returns the latest version of the list, which stays unchanged however the list changes afterwards.
+     *
+     * @return An immutable snapshot of the tasks.
+     */
+    public PersistentTaskList snapshot() {
+        return current;
+    }
+
+    @Override
+    public Task get(int index) {
+        return current.get(index);
+    }
+
+    /**
+     * Returns an iterator over the version of the list current when it is created.
+     *
+     * @return An iterator over the tasks.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return current.iterator();
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        PersistentTaskList version = current;
+        Task previous = version.get(index);
+        current = version.with(index, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        current = current.plus(index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        PersistentTaskList version = current;
+        Task task = version.get(index);
+        current = version.minus(index);
+        modCount++;
+        return task;
+    }
+
+    /**
+     * Removes the tasks at the given indexes, publishing a single new version with all of them gone.
+     *
+     * @param indexes Indexes of the tasks to remove (0-based), in ascending order without repeats.
+     */
+    public void removeAll(int[] indexes) {
+        PersistentTaskList version = current;
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            version = version.minus(indexes[i]);
+        }
+        current = version;
+        modCount++;
+    }
+
+    /**
+     * Publishes an earlier version of the list as the latest one, such as a snapshot kept for undo.
+     *
+     * @param version The version to publish.
+     */
+    public void restore(PersistentTaskList version) {
+        current = version;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        current = PersistentTaskList.empty();
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+}
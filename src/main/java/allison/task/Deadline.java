@@ -20,6 +20,23 @@ public class Deadline extends Task {
         this.dueDate = dueDate;
     }
 
+    /**
+     * Returns the date/time by which this task is due.
+     *
+     * @return The due date/time.
+     */
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    @Override
+    public Deadline copy() {
+        Deadline copy = new Deadline(description, dueDate);
+        copy.isDone = isDone;
+        copy.id = id;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "[D]" + super.toString() + " (by: " + dueDate.format(DISPLAY_DATE_FORMAT) + ")";
@@ -28,6 +45,6 @@ public class Deadline extends Task {
     @Override
     public String toFileString() {
         return "D|" + (isDone ? 1 : 0)
-                + "|" + description + "|" + dueDate.format(FILE_DATE_FORMAT);
+                + "|" + description + "|" + dueDate.format(FILE_DATE_FORMAT) + toIdField();
     }
 }
@@ -23,6 +23,32 @@ public class Event extends Task {
         this.end = end;
     }
 
+    /**
+     * Returns the start date/time of this event.
+     *
+     * @return The start date/time.
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the end date/time of this event.
+     *
+     * @return The end date/time.
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public Event copy() {
+        Event copy = new Event(description, start, end);
+        copy.isDone = isDone;
+        copy.id = id;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "[E]" + super.toString()
@@ -33,6 +59,7 @@ public class Event extends Task {
     @Override
     public String toFileString() {
         return "E|" + (isDone ? 1 : 0) + "|" + description
-                + "|" + start.format(FILE_DATE_FORMAT) + "|" + end.format(FILE_DATE_FORMAT);
+                + "|" + start.format(FILE_DATE_FORMAT) + "|" + end.format(FILE_DATE_FORMAT)
+                + toIdField();
     }
 }
@@ -7,6 +7,8 @@ import java.time.format.FormatStyle;
 /**
  * Represents a task with a description and completion status.
  * This is the base class for all task types (Todo, Deadline, Event).
+ * A task also carries an ID, assigned once when it is added to a task list, which stays the same
+ * however the list changes around it.
  */
 public class Task {
     protected static final DateTimeFormatter FILE_DATE_FORMAT =
@@ -14,8 +16,12 @@ public class Task {
     protected static final DateTimeFormatter DISPLAY_DATE_FORMAT =
             DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM);
 
+    /** ID of a task that has not been added to a task list yet. */
+    public static final long NO_ID = 0;
+
     protected String description;
     protected boolean isDone;
+    protected long id;
 
     /**
      * Constructs a Task with the given description, initially not done.
@@ -26,6 +32,7 @@ public class Task {
         assert description != null;
         this.description = description;
         this.isDone = false;
+        this.id = NO_ID;
     }
 
     /**
@@ -46,6 +53,33 @@ public class Task {
         return description;
     }
 
+    /**
+     * Returns the ID of this task.
+     *
+     * @return The ID, or {@link #NO_ID} if none has been assigned.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of this task.
+     *
+     * @param id The ID, which should not be held by any other task.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns whether this task is done.
+     *
+     * @return True if the task is marked as done.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Marks this task as done.
      */
@@ -69,13 +103,34 @@ public class Task {
         this.isDone = isDone;
     }
 
+    /**
+     * Returns a new task equal to this one, which can be changed without affecting this task.
+     *
+     * @return A copy of this task.
+     */
+    public Task copy() {
+        Task copy = new Task(description);
+        copy.isDone = isDone;
+        copy.id = id;
+        return copy;
+    }
+
     /**
      * Returns the file-storage representation of this task.
      *
      * @return A pipe-delimited string for saving to file.
      */
     public String toFileString() {
-        return (isDone ? 1 : 0) + "|" + description;
+        return (isDone ? 1 : 0) + "|" + description + toIdField();
+    }
+
+    /**
+     * Returns the trailing ID field of the file-storage representation, empty if no ID is assigned.
+     *
+     * @return The ID field, including its leading delimiter.
+     */
+    protected String toIdField() {
+        return id == NO_ID ? "" : "|" + id;
     }
 
     @Override
@@ -14,6 +14,17 @@ public class Todo extends Task {
         super(description);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Todo copy() {
+        Todo copy = new Todo(description);
+        copy.isDone = isDone;
+        copy.id = id;
+        return copy;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -27,6 +38,6 @@ public class Todo extends Task {
      */
     @Override
     public String toFileString() {
-        return "T|" + (isDone ? 1 : 0) + "|" + description;
+        return "T|" + (isDone ? 1 : 0) + "|" + description + toIdField();
     }
 }
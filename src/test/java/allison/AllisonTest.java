@@ -0,0 +1,72 @@
+package allison;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AllisonTest {
+
+    @Test
+    public void treeBacking_corruptLine_droppedAndSaved(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("test.txt").toString();
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("#next-id|4" + System.lineSeparator() + "T|0|read book|1" + System.lineSeparator()
+                    + "D|0|broken|not-a-date|2" + System.lineSeparator() + "T|0|buy milk|3" + System.lineSeparator());
+        }
+        System.setProperty("allison.list", "tree");
+        Allison allison;
+        try {
+            allison = new Allison(new Storage(filePath), DurabilityMode.SYNC);
+        } finally {
+            System.clearProperty("allison.list");
+        }
+
+        assertTrue(allison.getResponse("mark 2").contains("[T][X] buy milk"));
+        allison.saveTasks();
+        allison.shutdown();
+
+        assertEquals(List.of("#next-id|4", "T|0|read book|1", "T|1|buy milk|3"), Files.readAllLines(Path.of(filePath)));
+        assertEquals(2, new Storage(filePath).load().size());
+    }
+
+    @Test
+    public void undoProperty_unsetBacking_versionedListUndoes(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("test.txt").toString();
+        System.setProperty("allison.undo", "5");
+        Allison allison;
+        try {
+            allison = new Allison(new Storage(filePath), DurabilityMode.SYNC);
+        } finally {
+            System.clearProperty("allison.undo");
+        }
+
+        allison.getResponse("todo read book");
+        allison.getResponse("undo");
+        allison.shutdown();
+
+        assertEquals(0, new Storage(filePath).load().size());
+    }
+
+    @Test
+    public void undoProperty_invalidDepthOrBacking_exceptionThrown(@TempDir Path tempDir) {
+        Storage storage = new Storage(tempDir.resolve("test.txt").toString());
+        try {
+            System.setProperty("allison.undo", "-1");
+            assertThrows(IllegalArgumentException.class, () -> new Allison(storage, DurabilityMode.SYNC));
+            System.setProperty("allison.undo", "5");
+            assertThrows(IllegalArgumentException.class,
+                    () -> new Allison(storage, DurabilityMode.SYNC, ListBacking.TREE));
+        } finally {
+            System.clearProperty("allison.undo");
+        }
+    }
+}
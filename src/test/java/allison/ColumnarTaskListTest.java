@@ -0,0 +1,84 @@
+package allison;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarTaskListTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 6, 15, 0, 0);
+
+    @Test
+    public void get_allTaskTypes_rebuiltFromColumns() {
+        Deadline deadline = new Deadline("submit report", DAY.plusHours(14).plusMinutes(30));
+        deadline.setIsDone(true);
+        List<Task> tasks = Arrays.asList(new Todo("read book"), deadline,
+                new Event("team meeting", DAY.plusHours(10), DAY.plusHours(12)), null);
+
+        ColumnarTaskList columnarTasks = new ColumnarTaskList(tasks);
+
+        assertEquals(4, columnarTasks.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(tasks.get(i).toFileString(), columnarTasks.get(i).toFileString());
+        }
+        assertNull(columnarTasks.get(3));
+        assertNull(columnarTasks.getDescription(3));
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(3);
+        ArrayList<Task> expected = new ArrayList<>();
+        ColumnarTaskList actual = new ColumnarTaskList();
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = i % 2 == 0 ? new Todo("task " + i) : new Deadline("due " + i, DAY.plusMinutes(i));
+                task.setIsDone(random.nextBoolean());
+                expected.add(index, task);
+                actual.add(index, task);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index).toFileString(), actual.remove(index).toFileString());
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = expected.get(index);
+                task.setIsDone(!task.isDone());
+                actual.set(index, task);
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toFileString(), actual.get(i).toFileString());
+        }
+    }
+
+    @Test
+    public void findEvents_strictAndInclusive_matchTouchingEventsCorrectly() {
+        Event morning = new Event("standup", DAY.plusHours(9), DAY.plusHours(10));
+        ColumnarTaskList columnarTasks = new ColumnarTaskList(List.of(morning, new Todo("read book")));
+
+        assertEquals(1, columnarTasks.findEvents(DAY.plusHours(10), DAY.plusHours(11), false).size());
+        assertTrue(columnarTasks.findEvents(DAY.plusHours(10), DAY.plusHours(11), true).isEmpty());
+    }
+
+    @Test
+    public void add_plainTask_exceptionThrown() {
+        ColumnarTaskList columnarTasks = new ColumnarTaskList();
+        assertThrows(IllegalArgumentException.class, () -> columnarTasks.add(new Task("plain")));
+    }
+}
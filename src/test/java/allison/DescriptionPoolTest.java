@@ -0,0 +1,41 @@
+package allison;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DescriptionPoolTest {
+
+    @Test
+    public void intern_equalDescriptions_returnsFirstInstance() {
+        DescriptionPool pool = new DescriptionPool();
+        String first = new String("review PR");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(new String("review PR")));
+        assertEquals(1, pool.getNumUnique());
+        assertEquals(2, pool.getNumLookups());
+    }
+
+    @Test
+    public void getBytesSaved_duplicates_countsEachReplacedString() {
+        DescriptionPool pool = new DescriptionPool();
+        pool.intern(new String("standup"));
+        assertEquals(0, pool.getBytesSaved());
+
+        pool.intern(new String("standup"));
+        pool.intern(new String("standup"));
+
+        // Each 7-character Latin-1 copy is a 24-byte String and a 16 + 7 byte array padded to 24
+        assertEquals(2 * (24 + 24), pool.getBytesSaved());
+    }
+
+    @Test
+    public void getBytesSaved_sameInstanceAgain_countsNothing() {
+        DescriptionPool pool = new DescriptionPool();
+        String description = pool.intern("standup");
+        pool.intern(description);
+        assertEquals(0, pool.getBytesSaved());
+    }
+}
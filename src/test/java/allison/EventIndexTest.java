@@ -0,0 +1,61 @@
+package allison;
+
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 6, 15, 0, 0);
+
+    @Test
+    public void findConflicts_touchingEvents_notConflicting() {
+        EventIndex index = new EventIndex();
+        Event morning = new Event("standup", DAY.plusHours(9), DAY.plusHours(10));
+        index.add(morning);
+        index.add(new Todo("read book"));
+
+        assertTrue(index.findConflicts(new Event("review", DAY.plusHours(10), DAY.plusHours(11))).isEmpty());
+        assertEquals(List.of(morning),
+                index.findConflicts(new Event("review", DAY.plusMinutes(570), DAY.plusHours(11))));
+        assertTrue(index.findConflicts(morning).isEmpty());
+    }
+
+    @Test
+    public void findOverlapping_randomEvents_matchLinearScan() {
+        Random random = new Random(7);
+        EventIndex index = new EventIndex();
+        ArrayList<Event> events = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(60 * 24 * 30));
+            Event event = new Event("event " + i, start, start.plusMinutes(random.nextInt(60 * 24 * 3)));
+            events.add(event);
+            index.add(event);
+        }
+        for (int i = 0; i < 500; i++) {
+            index.remove(events.remove(random.nextInt(events.size())));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            LocalDateTime from = DAY.plusMinutes(random.nextInt(60 * 24 * 30));
+            LocalDateTime to = from.plusMinutes(random.nextInt(60 * 24));
+            ArrayList<Task> actual = index.findOverlapping(from, to);
+            long expectedCount = events.stream()
+                    .filter(event -> !event.getStart().isAfter(to) && !event.getEnd().isBefore(from))
+                    .count();
+
+            assertEquals(expectedCount, (long) actual.size());
+            for (int j = 1; j < actual.size(); j++) {
+                assertTrue(!((Event) actual.get(j)).getStart().isBefore(((Event) actual.get(j - 1)).getStart()));
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package allison;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlusherTest {
+
+    @Test
+    public void requestFlush_syncMode_flushesImmediately() {
+        AtomicInteger flushCount = new AtomicInteger();
+        Flusher flusher = new Flusher(flushCount::incrementAndGet, DurabilityMode.SYNC, 50);
+        flusher.requestFlush();
+        flusher.requestFlush();
+        assertEquals(2, flushCount.get());
+    }
+
+    @Test
+    public void requestFlush_onExitMode_flushesOnlyOnClose() {
+        AtomicInteger flushCount = new AtomicInteger();
+        Flusher flusher = new Flusher(flushCount::incrementAndGet, DurabilityMode.ON_EXIT, 50);
+        flusher.requestFlush();
+        flusher.requestFlush();
+        assertEquals(0, flushCount.get());
+        flusher.close();
+        assertEquals(1, flushCount.get());
+    }
+
+    @Test
+    public void requestFlush_timedModeBurst_coalesced() throws InterruptedException {
+        AtomicInteger flushCount = new AtomicInteger();
+        Flusher flusher = new Flusher(flushCount::incrementAndGet, DurabilityMode.TIMED, 200);
+        for (int i = 0; i < 10; i++) {
+            flusher.requestFlush();
+        }
+        Thread.sleep(400);
+        assertEquals(1, flushCount.get());
+        flusher.close();
+        assertTrue(flushCount.get() >= 1);
+    }
+}
@@ -0,0 +1,39 @@
+package allison;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FsyncPolicyTest {
+
+    @Test
+    public void shouldForce_always_everySave() {
+        FsyncPolicy policy = FsyncPolicy.parse("always");
+        assertTrue(policy.shouldForce());
+        assertTrue(policy.shouldForce());
+    }
+
+    @Test
+    public void shouldForce_never_noSave() {
+        FsyncPolicy policy = FsyncPolicy.parse("NEVER");
+        assertFalse(policy.shouldForce());
+        assertFalse(policy.shouldForce());
+    }
+
+    @Test
+    public void shouldForce_everyThreeSaves_everyThirdSave() {
+        FsyncPolicy policy = FsyncPolicy.parse("3");
+        assertFalse(policy.shouldForce());
+        assertFalse(policy.shouldForce());
+        assertTrue(policy.shouldForce());
+        assertFalse(policy.shouldForce());
+    }
+
+    @Test
+    public void parse_invalidValue_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> FsyncPolicy.parse("0"));
+        assertThrows(IllegalArgumentException.class, () -> FsyncPolicy.parse("sometimes"));
+    }
+}
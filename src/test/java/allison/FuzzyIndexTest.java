@@ -0,0 +1,107 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FuzzyIndexTest {
+
+    @Test
+    public void getEditDistance_insertDeleteSubstitute_countsEdits() {
+        assertEquals(0, FuzzyIndex.getEditDistance("book", "book"));
+        assertEquals(1, FuzzyIndex.getEditDistance("bok", "book"));
+        assertEquals(2, FuzzyIndex.getEditDistance("homewrok", "homework"));
+        assertEquals(3, FuzzyIndex.getEditDistance("kitten", "sitting"));
+        assertEquals(4, FuzzyIndex.getEditDistance("", "read"));
+    }
+
+    @Test
+    public void find_misspeltWords_returnsMatchesInListOrder() {
+        FuzzyIndex index = new FuzzyIndex();
+        Task first = new Todo("read book");
+        Task second = new Todo("complete homework");
+        Task third = new Todo("return book to library");
+        first.setId(3);
+        second.setId(1);
+        third.setId(2);
+        index.add(first);
+        index.add(second);
+        index.add(third);
+
+        ArrayList<Task> results = index.find("Bok");
+
+        assertEquals(2, results.size());
+        assertSame(first, results.get(0));
+        assertSame(third, results.get(1));
+        assertSame(second, index.find("homewrok").get(0));
+        assertEquals(1, index.find("bok reed").size());
+        assertEquals(2, index.find("cook").size());
+        assertTrue(index.find("xyz").isEmpty());
+    }
+
+    @Test
+    public void find_tasksWithoutIds_returnsMatchesInListOrder() {
+        FuzzyIndex index = new FuzzyIndex();
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new Todo("chapter " + i);
+            tasks.add(task);
+            index.add(task);
+        }
+        index.remove(tasks.remove(10));
+        Task readded = new Todo("chapter 10");
+        tasks.add(readded);
+        index.add(readded);
+
+        ArrayList<Task> results = index.find("chaptre");
+
+        assertEquals(tasks.size(), results.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSame(tasks.get(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void find_randomWords_matchesScan() {
+        Random random = new Random(11);
+        FuzzyIndex index = new FuzzyIndex();
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Task task = new Todo(randomWord(random) + " " + randomWord(random));
+            task.setId(i + 1);
+            tasks.add(task);
+            index.add(task);
+        }
+        for (int i = 0; i < 200; i += 2) {
+            index.remove(tasks.get(i));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            String query = randomWord(random);
+            ArrayList<String> queryWords = KeywordIndex.tokenize(query);
+            ArrayList<Task> expected = new ArrayList<>();
+            for (int j = 0; j < tasks.size(); j++) {
+                if ((j >= 200 || j % 2 == 1) && FuzzyIndex.matches(tasks.get(j).getDescription(), queryWords)) {
+                    expected.add(tasks.get(j));
+                }
+            }
+            assertEquals(expected, index.find(query), query);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 3 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+}
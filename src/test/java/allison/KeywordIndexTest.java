@@ -0,0 +1,90 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeywordIndexTest {
+
+    @Test
+    public void tokenize_punctuationAndCase_splitsIntoLowercaseWords() {
+        assertEquals(List.of("read", "book", "2"), KeywordIndex.tokenize("Read BOOK, (2)"));
+    }
+
+    @Test
+    public void find_multipleWords_returnsIntersectionInListOrder() {
+        KeywordIndex index = new KeywordIndex();
+        Task first = new Todo("read book book");
+        Task second = new Todo("read essay");
+        Task third = new Todo("book read again");
+        index.add(first);
+        index.add(second);
+        index.add(third);
+
+        ArrayList<Task> results = index.find("book read");
+
+        assertEquals(2, results.size());
+        assertSame(first, results.get(0));
+        assertSame(third, results.get(1));
+    }
+
+    @Test
+    public void remove_equalDescriptions_removesOnlyThatTask() {
+        KeywordIndex index = new KeywordIndex();
+        Task first = new Todo("read book");
+        Task second = new Todo("read book");
+        index.add(first);
+        index.add(second);
+
+        index.remove(second);
+
+        assertEquals(1, index.find("book").size());
+        assertSame(first, index.find("book").get(0));
+        index.remove(first);
+        assertTrue(index.find("book").isEmpty());
+    }
+
+    @Test
+    public void remove_copyWithSameId_removesIndexedTask() {
+        KeywordIndex index = new KeywordIndex();
+        Task first = new Todo("read book");
+        Task second = new Todo("return book");
+        first.setId(1);
+        second.setId(2);
+        index.add(first);
+        index.add(second);
+
+        index.remove(first.copy());
+
+        assertEquals(1, index.find("book").size());
+        assertSame(second, index.find("book").get(0));
+    }
+
+    @Test
+    public void find_afterRemovingEveryOtherTask_keepsListOrder() {
+        KeywordIndex index = new KeywordIndex();
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Todo("the book " + i);
+            tasks.add(task);
+            index.add(task);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            index.remove(tasks.remove(i));
+        }
+
+        ArrayList<Task> results = index.find("the book");
+
+        assertEquals(tasks.size(), results.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSame(tasks.get(i), results.get(i));
+        }
+    }
+}
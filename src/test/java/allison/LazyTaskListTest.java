@@ -0,0 +1,76 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyTaskListTest {
+    private LazyTaskList lazyTasks;
+
+    @BeforeEach
+    public void setUp() {
+        Storage storage = new Storage("data/test.txt");
+        ArrayList<String> lines = new ArrayList<>(List.of(
+                "T|0|read book",
+                "D|1|submit report|2024-06-15T14:30",
+                "D|0|broken|not-a-date"
+        ));
+        lazyTasks = new LazyTaskList(lines, storage::parseTask);
+    }
+
+    @Test
+    public void get_untouchedTask_materializedOnAccess() {
+        assertFalse(lazyTasks.isMaterialized(1));
+        assertEquals("D|1|submit report|2024-06-15T14:30", lazyTasks.get(1).toFileString());
+        assertTrue(lazyTasks.isMaterialized(1));
+        assertFalse(lazyTasks.isMaterialized(0));
+    }
+
+    @Test
+    public void get_invalidLine_returnsNullAndKeepsLine() {
+        assertNull(lazyTasks.get(2));
+        assertEquals("D|0|broken|not-a-date", lazyTasks.getFileString(2));
+    }
+
+    @Test
+    public void getDescription_untouchedTask_notMaterialized() {
+        assertEquals("submit report", lazyTasks.getDescription(1));
+        assertFalse(lazyTasks.isMaterialized(1));
+    }
+
+    @Test
+    public void findTasks_lazyList_materializesOnlyMatches() {
+        TaskList taskList = new TaskList(lazyTasks);
+        ArrayList<Task> results = taskList.findTasks("REPORT");
+        assertEquals(1, results.size());
+        assertTrue(lazyTasks.isMaterialized(1));
+        assertFalse(lazyTasks.isMaterialized(0));
+    }
+
+    @Test
+    public void markTask_invalidLine_exceptionThrown() {
+        TaskList taskList = new TaskList(lazyTasks);
+        AllisonException exception = assertThrows(AllisonException.class, () -> taskList.markTask(3));
+        assertEquals("Error: Task 3 could not be read from storage. Correct Usage: mark <task number>",
+                exception.getMessage());
+    }
+
+    @Test
+    public void addAndRemove_mixedSlots_keepsOrder() {
+        lazyTasks.add(new Todo("write code"));
+        lazyTasks.remove(0);
+        assertEquals(3, lazyTasks.size());
+        assertEquals("submit report", lazyTasks.getDescription(0));
+        assertEquals("write code", lazyTasks.getDescription(2));
+    }
+}
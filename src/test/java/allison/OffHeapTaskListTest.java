@@ -0,0 +1,120 @@
+package allison;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapTaskListTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 6, 15, 0, 0);
+
+    @Test
+    public void get_allTaskTypes_decodedFromRecords() {
+        Deadline deadline = new Deadline("submit report", DAY.plusHours(14).plusMinutes(30));
+        deadline.setIsDone(true);
+        List<Task> tasks = Arrays.asList(new Todo("read book"), deadline,
+                new Event("team meeting", DAY.plusHours(10), DAY.plusHours(12)), null);
+
+        OffHeapTaskList offHeapTasks = new OffHeapTaskList(tasks);
+
+        assertEquals(4, offHeapTasks.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(tasks.get(i).toFileString(), offHeapTasks.get(i).toFileString());
+        }
+        assertEquals("submit report", offHeapTasks.getDescription(1));
+        assertNull(offHeapTasks.get(3));
+        assertFalse(offHeapTasks.isSnapshottable());
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(3);
+        ArrayList<Task> expected = new ArrayList<>();
+        OffHeapTaskList actual = new OffHeapTaskList();
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(5);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = i % 2 == 0 ? new Todo("task " + i) : new Deadline("due " + i, DAY.plusMinutes(i));
+                task.setIsDone(random.nextBoolean());
+                expected.add(index, task);
+                actual.add(index, task);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index).toFileString(), actual.remove(index).toFileString());
+            } else if (operation == 3) {
+                int index = random.nextInt(expected.size());
+                Task task = expected.get(index);
+                task.setIsDone(!task.isDone());
+                actual.set(index, task);
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new Todo("replaced " + i);
+                expected.set(index, task);
+                actual.set(index, task);
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toFileString(), actual.get(i).toFileString());
+        }
+    }
+
+    @Test
+    public void findDeadlines_mixedTasks_matchesInDueOrder() {
+        List<Task> tasks = Arrays.asList(new Deadline("pay rent", DAY.plusHours(18)), new Todo("read book"), null,
+                new Deadline("submit report", DAY.plusHours(9)), new Deadline("file taxes", DAY.plusDays(2)),
+                new Deadline("call bank", DAY.plusHours(9)));
+        OffHeapTaskList offHeapTasks = new OffHeapTaskList(tasks);
+
+        ArrayList<Task> deadlines = offHeapTasks.findDeadlines(DAY, DAY.plusDays(1));
+
+        assertEquals(3, deadlines.size());
+        assertEquals("submit report", deadlines.get(0).getDescription());
+        assertEquals("call bank", deadlines.get(1).getDescription());
+        assertEquals("pay rent", deadlines.get(2).getDescription());
+    }
+
+    @Test
+    public void findEvents_strictAndInclusive_matchTouchingEventsCorrectly() {
+        Event morning = new Event("standup", DAY.plusHours(9), DAY.plusHours(10));
+        OffHeapTaskList offHeapTasks = new OffHeapTaskList(Arrays.asList(morning, new Todo("read book"), null,
+                new Deadline("submit report", DAY.plusHours(10))));
+
+        assertEquals(1, offHeapTasks.findEvents(DAY.plusHours(10), DAY.plusHours(11), false).size());
+        assertTrue(offHeapTasks.findEvents(DAY.plusHours(10), DAY.plusHours(11), true).isEmpty());
+        assertEquals("standup", offHeapTasks.findEvents(DAY, DAY.plusHours(9).plusMinutes(30), true)
+                .get(0).getDescription());
+    }
+
+    @Test
+    public void toBinarySnapshot_afterEdits_decodesToList() {
+        OffHeapTaskList offHeapTasks = new OffHeapTaskList(List.of(new Todo("read book"), new Todo("return book")));
+        offHeapTasks.add(0, new Deadline("submit report", DAY));
+        offHeapTasks.remove(1);
+
+        ByteBuffer[] snapshot = offHeapTasks.toBinarySnapshot(Task.NO_ID + 1);
+        ByteBuffer joined = ByteBuffer.allocate(snapshot[0].remaining() + snapshot[1].remaining());
+        joined.put(snapshot[0].duplicate()).put(snapshot[1].duplicate()).flip();
+
+        assertTrue(BinarySnapshot.isBinary(joined));
+        ArrayList<Task> decodedTasks = BinarySnapshot.decode(joined);
+        assertEquals(2, decodedTasks.size());
+        assertEquals(offHeapTasks.get(0).toFileString(), decodedTasks.get(0).toFileString());
+        assertEquals("T|0|return book", decodedTasks.get(1).toFileString());
+    }
+}
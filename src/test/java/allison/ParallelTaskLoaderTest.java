@@ -0,0 +1,69 @@
+package allison;
+
+import allison.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ParallelTaskLoaderTest {
+
+    @Test
+    public void parse_manyChunks_preservesFileOrder() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            if (i % 3 == 0) {
+                content.append("D|0|task ").append(i).append("|2024-06-15T14:30\r\n");
+            } else {
+                content.append("T|").append(i % 2).append("|task ").append(i).append("\n");
+            }
+        }
+        ByteBuffer snapshot = ByteBuffer.wrap(content.toString().getBytes());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ArrayList<Task> tasks = new ParallelTaskLoader(new Storage("data/test.txt"), pool).parse(snapshot);
+        pool.shutdown();
+
+        assertEquals(20000, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals("task " + i, tasks.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void parse_invalidLines_keptAsNull() {
+        ByteBuffer snapshot = ByteBuffer.wrap("T|0|read book\nX|0|invalid\n\nT|1|write code".getBytes());
+        ArrayList<Task> tasks = new ParallelTaskLoader(new Storage("data/test.txt"), ForkJoinPool.commonPool())
+                .parse(snapshot);
+        assertEquals(3, tasks.size());
+        assertNull(tasks.get(1));
+        assertEquals("[T][X] write code", tasks.get(2).toString());
+    }
+
+    @Test
+    public void parseWithPositionalIds_manyChunks_idsAreLinePositions() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append(i % 7 == 0 ? "GARBAGE LINE" : "T|0|task " + i).append("\n");
+        }
+        ByteBuffer snapshot = ByteBuffer.wrap(content.toString().getBytes());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ArrayList<Task> tasks = new ParallelTaskLoader(new Storage("data/test.txt"), pool)
+                .parseWithPositionalIds(snapshot);
+        pool.shutdown();
+
+        assertEquals(20000, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i % 7 == 0) {
+                assertNull(tasks.get(i));
+            } else {
+                assertEquals(i + 1, tasks.get(i).getId());
+            }
+        }
+    }
+}
@@ -3,9 +3,12 @@ package allison;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ParserTest {
     private final Parser parser = new Parser();
@@ -94,6 +97,83 @@ public class ParserTest {
         assertEquals(Command.FIND, parser.parseCommand("find book"));
     }
 
+    @Test
+    public void parseCommand_stats_returnsStatsCommand() throws AllisonException {
+        assertEquals(Command.STATS, parser.parseCommand("stats"));
+    }
+
+    @Test
+    public void parseCommand_memory_returnsMemoryCommand() throws AllisonException {
+        assertEquals(Command.MEMORY, parser.parseCommand("memory"));
+    }
+
+    @Test
+    public void parseCommand_undoRedo_returnsUndoRedoCommands() throws AllisonException {
+        assertEquals(Command.UNDO, parser.parseCommand("undo"));
+        assertEquals(Command.REDO, parser.parseCommand("REDO"));
+    }
+
+    @Test
+    public void parseCommand_validFuzzyFind_returnsFuzzyFindCommand() throws AllisonException {
+        assertEquals(Command.FUZZY_FIND, parser.parseCommand("find~ homewrok"));
+        assertEquals("homewrok", parser.parseFindKeyword("find~ homewrok"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("find~"));
+    }
+
+    @Test
+    public void parseCommand_nextUp_returnsNextUpCommand() throws AllisonException {
+        assertEquals(Command.NEXTUP, parser.parseCommand("nextup"));
+        assertEquals(5, parser.parseNextUpCount("nextup"));
+        assertEquals(3, parser.parseNextUpCount("nextup 3"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("nextup 0"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("nextup soon"));
+    }
+
+    @Test
+    public void parseCommand_validFindWord_returnsFindWordCommand() throws AllisonException {
+        assertEquals(Command.FINDWORD, parser.parseCommand("findword read book"));
+        assertEquals("read book", parser.parseFindKeyword("findword read book"));
+    }
+
+    @Test
+    public void parseCommand_validDue_returnsDueCommand() throws AllisonException {
+        assertEquals(Command.DUE, parser.parseCommand("due /by 2024-06-21T23:59"));
+        assertEquals(List.of("", "2024-06-21T23:59"), parser.parseDueArgs("due /by 2024-06-21T23:59"));
+        assertEquals(List.of("2024-06-17T00:00", "2024-06-21T23:59"),
+                parser.parseDueArgs("due /from 2024-06-17T00:00 /to 2024-06-21T23:59"));
+    }
+
+    @Test
+    public void parseCommand_dueMissingRange_exceptionThrown() {
+        assertThrows(AllisonException.class, () -> parser.parseCommand("due"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("due /from 2024-06-17T00:00"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("due /by "));
+    }
+
+    @Test
+    public void parseCommand_validEvents_returnsEventsCommand() throws AllisonException {
+        assertEquals(Command.EVENTS, parser.parseCommand("events /from 2024-06-15T00:00 /to 2024-06-15T23:59"));
+        assertEquals(List.of("2024-06-15T00:00", "2024-06-15T23:59"),
+                parser.parseEventsArgs("events /from 2024-06-15T00:00 /to 2024-06-15T23:59"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("events /to 2024-06-15T23:59"));
+    }
+
+    @Test
+    public void parseCommand_listWithPage_returnsListCommand() throws AllisonException {
+        assertEquals(Command.LIST, parser.parseCommand("list 2 50"));
+        assertEquals(Command.LIST, parser.parseCommand("list next"));
+        assertEquals(List.of("2", "50"), parser.parseListArgs("list 2  50"));
+        assertEquals(List.of("next"), parser.parseListArgs("list next"));
+        assertTrue(parser.parseListArgs("list").isEmpty());
+    }
+
+    @Test
+    public void parseCommand_listInvalidPage_exceptionThrown() {
+        assertThrows(AllisonException.class, () -> parser.parseCommand("list 0"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("list two"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("list 1 2 3"));
+    }
+
     @Test
     public void parseCommand_findMissingKeyword_exceptionThrown() {
         assertThrows(AllisonException.class, () -> parser.parseCommand("find"));
@@ -170,6 +250,38 @@ public class ParserTest {
         assertEquals(1, parser.parseTaskNum("delete 1"));
     }
 
+    @Test
+    public void parseTaskId_idGivenWithHash_success() throws AllisonException {
+        assertEquals(Command.DELETE, parser.parseCommand("delete #42"));
+        assertTrue(parser.isTaskId("delete #42"));
+        assertEquals(42, parser.parseTaskId("delete #42"));
+        assertFalse(parser.isTaskId("delete 42"));
+    }
+
+    @Test
+    public void parseCommand_markInvalidId_throwsException() {
+        assertThrows(AllisonException.class, () -> parser.parseCommand("mark #abc"));
+    }
+
+    @Test
+    public void parseTaskSelection_listOfNumbersRangesAndIds_success() throws AllisonException {
+        assertEquals(Command.DELETE, parser.parseCommand("delete 3, 7,9-20,#12"));
+        assertTrue(parser.isBulkCommand("delete 3, 7,9-20,#12"));
+        TaskSelection selection = parser.parseTaskSelection("delete 3, 7,9-20,#12");
+        assertEquals(3, selection.getRanges().size());
+        assertEquals(9, selection.getRanges().get(2)[0]);
+        assertEquals(20, selection.getRanges().get(2)[1]);
+        assertEquals(List.of(12L), selection.getIds());
+        assertFalse(selection.isDoneSelected());
+        assertTrue(parser.parseTaskSelection("delete done").isDoneSelected());
+    }
+
+    @Test
+    public void parseCommand_markReversedRange_throwsException() {
+        assertThrows(AllisonException.class, () -> parser.parseCommand("mark 5-2"));
+        assertThrows(AllisonException.class, () -> parser.parseCommand("mark 1,,2"));
+    }
+
     // ==================== parseTodoDesc tests ====================
 
     @Test
@@ -0,0 +1,73 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PersistentTaskListTest {
+
+    @Test
+    public void randomOperations_everyVersionMatchesArrayList() {
+        Random random = new Random(7);
+        ArrayList<List<Task>> expectedVersions = new ArrayList<>();
+        ArrayList<PersistentTaskList> versions = new ArrayList<>();
+        ArrayList<Task> expected = new ArrayList<>();
+        PersistentTaskList actual = PersistentTaskList.empty();
+        for (int i = 0; i < 3000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new Todo("task " + i);
+                expected.add(index, task);
+                actual = actual.plus(index, task);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                actual = actual.minus(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new Todo("replaced " + i);
+                expected.set(index, task);
+                actual = actual.with(index, task);
+            }
+            if (i % 100 == 0) {
+                expectedVersions.add(new ArrayList<>(expected));
+                versions.add(actual);
+            }
+        }
+
+        assertEquals(expected, actual);
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(expectedVersions.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    public void of_tasks_iteratesInOrder() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+
+        ArrayList<Task> iterated = new ArrayList<>();
+        for (Task task : PersistentTaskList.of(tasks)) {
+            iterated.add(task);
+        }
+
+        assertEquals(tasks, iterated);
+    }
+
+    @Test
+    public void add_throughListInterface_exceptionThrown() {
+        PersistentTaskList tasks = PersistentTaskList.of(List.of(new Todo("read book")));
+        assertThrows(UnsupportedOperationException.class, () -> tasks.add(new Todo("return book")));
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.minus(1));
+    }
+}
@@ -0,0 +1,86 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentedStorageTest {
+
+    private static ArrayList<Task> createTodos(int numTasks) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= numTasks; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        return tasks;
+    }
+
+    @Test
+    public void saveAndLoad_manySegments_roundTrip(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        new SegmentedStorage(filePath).saveTasks(createTodos(3000));
+
+        ArrayList<Task> loadedTasks = new SegmentedStorage(filePath).load();
+
+        assertEquals(3000, loadedTasks.size());
+        assertEquals("task 2500", loadedTasks.get(2499).getDescription());
+        assertTrue(new File(filePath + ".segments/segment-2.txt").exists());
+    }
+
+    @Test
+    public void appendMark_rewritesOnlyOwningSegment(@TempDir Path tempDir) throws InterruptedException {
+        String filePath = tempDir.resolve("test.txt").toString();
+        SegmentedStorage storage = new SegmentedStorage(filePath);
+        storage.saveTasks(createTodos(3000));
+        File firstSegment = new File(filePath + ".segments/segment-0.txt");
+        File secondSegment = new File(filePath + ".segments/segment-1.txt");
+        firstSegment.setLastModified(0);
+        secondSegment.setLastModified(0);
+
+        storage.appendMark(1500);
+        storage.flush();
+
+        assertEquals(0, firstSegment.lastModified());
+        assertTrue(secondSegment.lastModified() > 0);
+        assertEquals("[T][X] task 1500", new SegmentedStorage(filePath).load().get(1499).toString());
+    }
+
+    @Test
+    public void appendDeleteAndAdd_matchesListOperations(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        SegmentedStorage storage = new SegmentedStorage(filePath);
+        ArrayList<Task> tasks = createTodos(1030);
+        storage.saveTasks(tasks);
+
+        for (int i = 0; i < 6; i++) {
+            storage.appendDelete(1025);
+            tasks.remove(1024);
+        }
+        Todo todo = new Todo("new task");
+        storage.appendAdd(todo);
+        tasks.add(todo);
+        storage.appendUnmark(3);
+        storage.flush();
+
+        assertEquals(tasks, new SegmentedStorage(filePath).load());
+        assertFalse(new File(filePath + ".segments/segment-1.txt").exists());
+    }
+
+    @Test
+    public void load_existingSingleFile_migrated(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        new Storage(filePath).saveTasks(new ArrayList<>(List.of(new Todo("read book"))));
+
+        assertEquals(1, new SegmentedStorage(filePath).load().size());
+        assertTrue(new File(filePath + ".segments/manifest.txt").exists());
+    }
+}
@@ -10,13 +10,17 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StorageTest {
@@ -76,6 +80,27 @@ public class StorageTest {
         assertNull(task);
     }
 
+    @Test
+    public void parseTask_invalidMonth_returnsNull() {
+        Storage storage = new Storage("data/test.txt");
+        assertNull(storage.parseTask("D|0|read book|2024-13-15T10:00"));
+    }
+
+    @Test
+    public void parseTask_dateWithSeconds_success() {
+        Storage storage = new Storage("data/test.txt");
+        Task task = storage.parseTask("D|1|read book|2024-01-15T10:00:30");
+        assertEquals("D|1|read book|2024-01-15T10:00", task.toFileString());
+    }
+
+    @Test
+    public void parseTask_missingFields_returnsNull() {
+        Storage storage = new Storage("data/test.txt");
+        assertNull(storage.parseTask("T"));
+        assertNull(storage.parseTask("D|0|read book"));
+        assertNull(storage.parseTask("E|0|meeting|2024-01-15T10:00"));
+    }
+
     // ==================== load and save round-trip tests ====================
 
     @Test
@@ -134,6 +159,34 @@ public class StorageTest {
         assertTrue(loadedTasks.get(0).toString().contains("team meeting"));
     }
 
+    @Test
+    public void saveAndLoad_delimiterInDescriptions_roundTrip(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 0);
+        ArrayList<Task> tasksToSave = new ArrayList<>(List.of(
+                new Todo("a|b"),
+                new Todo("room 4|5"),
+                new Deadline("submit|report", start),
+                new Event("|meeting|", start, start.plusHours(2))
+        ));
+        for (int i = 0; i < tasksToSave.size(); i++) {
+            tasksToSave.get(i).setId(i + 7);
+        }
+
+        storage.saveTasks(tasksToSave);
+        ArrayList<Task> loadedTasks = storage.load();
+        LazyTaskList lazyTasks = new Storage(filePath).loadLazy();
+
+        assertEquals(4, loadedTasks.size());
+        for (int i = 0; i < tasksToSave.size(); i++) {
+            assertEquals(tasksToSave.get(i).toFileString(), loadedTasks.get(i).toFileString());
+            assertEquals(i + 7, loadedTasks.get(i).getId());
+            assertEquals(tasksToSave.get(i).getDescription(), lazyTasks.getDescription(i));
+        }
+    }
+
     @Test
     public void load_fileDoesNotExist_returnsEmptyList(@TempDir Path tempDir) {
         String filePath = tempDir.resolve("nonexistent.txt").toString();
@@ -159,6 +212,350 @@ public class StorageTest {
         assertTrue(new File(filePath).exists());
     }
 
+    // ==================== binary snapshot tests ====================
+
+    @Test
+    public void saveAndLoad_binaryFormat_roundTrip(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.bin").toString();
+        Storage storage = new Storage(filePath, SnapshotFormat.BINARY);
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 15, 12, 0);
+        ArrayList<Task> tasksToSave = new ArrayList<>(List.of(
+                new Todo("read book"),
+                new Deadline("submit report", start),
+                new Event("team meeting \u00e9t\u00e9", start, end)
+        ));
+        tasksToSave.get(1).setIsDone(true);
+
+        storage.saveTasks(tasksToSave);
+        ArrayList<Task> loadedTasks = storage.load();
+
+        assertEquals(3, loadedTasks.size());
+        for (int i = 0; i < tasksToSave.size(); i++) {
+            assertEquals(tasksToSave.get(i).toFileString(), loadedTasks.get(i).toFileString());
+        }
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_preservesTasks(@TempDir Path tempDir) {
+        String textPath = tempDir.resolve("test.txt").toString();
+        String binaryPath = tempDir.resolve("test.bin").toString();
+        String roundTripPath = tempDir.resolve("roundtrip.txt").toString();
+        new Storage(textPath).saveTasks(new ArrayList<>(List.of(
+                new Todo("read book"),
+                new Deadline("submit report", LocalDateTime.of(2024, 6, 15, 14, 30))
+        )));
+
+        Storage.convert(textPath, binaryPath, SnapshotFormat.BINARY);
+        Storage.convert(binaryPath, roundTripPath, SnapshotFormat.TEXT);
+
+        ArrayList<Task> loadedTasks = new Storage(roundTripPath).load();
+        assertEquals(2, loadedTasks.size());
+        assertEquals("D|0|submit report|2024-06-15T14:30", loadedTasks.get(1).toFileString());
+    }
+
+    @Test
+    public void saveTasks_offHeapListAfterEdits_writesSameBytesAsEncoding(@TempDir Path tempDir) throws IOException {
+        Path offHeapPath = tempDir.resolve("offheap.bin");
+        Path encodedPath = tempDir.resolve("encoded.bin");
+        OffHeapTaskList offHeapTasks = new OffHeapTaskList(List.of(new Todo("read book"),
+                new Deadline("submit report", LocalDateTime.of(2024, 6, 15, 14, 30)), new Todo("water plants")));
+        offHeapTasks.remove(0);
+        Task deadline = offHeapTasks.get(0);
+        deadline.markAsDone();
+        offHeapTasks.set(0, deadline);
+        offHeapTasks.set(1, new Todo("water the plants"));
+
+        new Storage(offHeapPath.toString(), SnapshotFormat.BINARY).saveTasks(offHeapTasks);
+        new Storage(encodedPath.toString(), SnapshotFormat.BINARY).saveTasks(new ArrayList<>(offHeapTasks));
+
+        assertTrue(Arrays.equals(Files.readAllBytes(encodedPath), Files.readAllBytes(offHeapPath)));
+        ArrayList<Task> loadedTasks = new Storage(offHeapPath.toString()).load();
+        assertEquals("D|1|submit report|2024-06-15T14:30", loadedTasks.get(0).toFileString());
+        assertEquals("T|0|water the plants", loadedTasks.get(1).toFileString());
+    }
+
+    @Test
+    public void load_repeatedDescriptions_shareOneString(@TempDir Path tempDir) {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            String filePath = tempDir.resolve("test." + format).toString();
+            new Storage(filePath, format).saveTasks(new ArrayList<>(List.of(new Todo("standup"),
+                    new Deadline("standup", LocalDateTime.of(2024, 6, 15, 9, 0)), new Todo("review PR"))));
+
+            Storage storage = new Storage(filePath);
+            ArrayList<Task> loadedTasks = storage.load();
+
+            assertSame(loadedTasks.get(0).getDescription(), loadedTasks.get(1).getDescription());
+            assertEquals(2, storage.getDescriptionPool().getNumUnique());
+            assertTrue(storage.getDescriptionPool().getBytesSaved() > 0);
+        }
+    }
+
+    // ==================== compressed snapshot tests ====================
+
+    @Test
+    public void saveAndLoad_compressedFormat_roundTripAcrossBlocks(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.z").toString();
+        Storage storage = new Storage(filePath, SnapshotFormat.COMPRESSED);
+        ArrayList<Task> tasksToSave = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            tasksToSave.add(new Deadline("submit report " + i, LocalDateTime.of(2024, 6, 15, 14, 30)));
+        }
+
+        storage.saveTasks(tasksToSave);
+        ArrayList<Task> loadedTasks = storage.load();
+        LazyTaskList lazyTasks = storage.loadLazy();
+
+        assertTrue(new File(filePath).length() < 5000 * "D|0|submit report 0|2024-06-15T14:30".length() / 4);
+        assertEquals(5000, loadedTasks.size());
+        assertEquals(5000, lazyTasks.size());
+        assertEquals("D|0|submit report 4999|2024-06-15T14:30", loadedTasks.get(4999).toFileString());
+        assertEquals("D|0|submit report 4999|2024-06-15T14:30", lazyTasks.getFileString(4999));
+    }
+
+    @Test
+    public void load_compressedWithJournal_replaysRecords(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.z").toString();
+        Storage storage = new Storage(filePath, SnapshotFormat.COMPRESSED);
+        storage.saveTasks(new ArrayList<>(List.of(new Todo("read book"))));
+        storage.appendMark(1);
+        storage.appendAdd(new Todo("write essay"));
+        storage.flush();
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).load();
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals("T|1|read book", loadedTasks.get(0).toFileString());
+    }
+
+    @Test
+    public void load_truncatedCompressedSnapshot_keepsCompleteBlocks(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("test.z").toString();
+        ArrayList<Task> tasksToSave = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            tasksToSave.add(new Todo("read chapter " + i));
+        }
+        new Storage(filePath, SnapshotFormat.COMPRESSED).saveTasks(tasksToSave);
+        byte[] content = Files.readAllBytes(Path.of(filePath));
+        Files.write(Path.of(filePath), Arrays.copyOf(content, content.length - 1));
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).load();
+
+        assertTrue(loadedTasks.size() > 0 && loadedTasks.size() < 20000);
+        assertEquals("T|0|read chapter 0", loadedTasks.get(0).toFileString());
+    }
+
+    // ==================== atomic save tests ====================
+
+    @Test
+    public void saveTasks_atomicWrite_noTempFileLeftAndTimed(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+        storage.setFsyncPolicy(FsyncPolicy.everyNSaves(2));
+
+        storage.saveTasks(new ArrayList<>(List.of(new Todo("read book"))));
+        storage.saveTasks(new ArrayList<>(List.of(new Todo("write code"))));
+
+        assertFalse(new File(filePath + ".tmp").exists());
+        assertEquals("[T][ ] write code", new Storage(filePath).load().get(0).toString());
+        assertEquals(2, storage.getSaveTimer().getNumSaves());
+        assertEquals(1, storage.getSaveTimer().getNumForcedSaves());
+    }
+
+    // ==================== journal tests ====================
+
+    @Test
+    public void load_journaledMutations_replayedOnSnapshot(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+        storage.saveTasks(new ArrayList<>(List.of(new Todo("read book"), new Todo("write code"))));
+
+        storage.appendAdd(new Todo("buy milk"));
+        storage.appendMark(3);
+        storage.appendDelete(1);
+        storage.appendUnmark(2);
+        storage.flush();
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).load();
+        assertEquals(2, loadedTasks.size());
+        assertEquals("[T][ ] write code", loadedTasks.get(0).toString());
+        assertEquals("[T][ ] buy milk", loadedTasks.get(1).toString());
+    }
+
+    @Test
+    public void load_journaledMutationsAfterUnreadableLine_replayedOnSameTasks(@TempDir Path tempDir)
+            throws IOException {
+        String filePath = tempDir.resolve("test.txt").toString();
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("#next-id|5" + System.lineSeparator() + "T|0|alpha|1" + System.lineSeparator()
+                    + "GARBAGE LINE" + System.lineSeparator() + "T|0|gamma|3" + System.lineSeparator()
+                    + "T|0|delta|4" + System.lineSeparator());
+        }
+        Storage storage = new Storage(filePath);
+        storage.loadLazy();
+        storage.appendMark(3);
+        storage.appendDelete(4);
+        storage.flush();
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).load();
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals("T|0|alpha|1", loadedTasks.get(0).toFileString());
+        assertEquals("T|1|gamma|3", loadedTasks.get(1).toFileString());
+    }
+
+    @Test
+    public void saveTasks_afterJournaling_clearsJournal(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+        storage.appendAdd(new Todo("read book"));
+        storage.flush();
+        assertTrue(new File(filePath + ".log").exists());
+
+        storage.saveTasks(new ArrayList<>(List.of(new Todo("read book"))));
+
+        assertFalse(new File(filePath + ".log").exists());
+        assertEquals(1, new Storage(filePath).load().size());
+    }
+
+    @Test
+    public void load_staleJournal_ignored(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+        storage.saveTasks(new ArrayList<>(List.of(new Todo("read book"))));
+        storage.appendAdd(new Todo("write code"));
+        storage.flush();
+
+        // Simulate a snapshot that was rewritten but whose journal was never cleared
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("T|0|read book" + System.lineSeparator() + "T|0|write code" + System.lineSeparator());
+        }
+
+        assertEquals(2, new Storage(filePath).load().size());
+    }
+
+    @Test
+    public void load_unflushedRecords_notPersisted(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+        storage.appendAdd(new Todo("read book"));
+
+        assertTrue(new Storage(filePath).load().isEmpty());
+        storage.flush();
+        assertEquals(1, new Storage(filePath).load().size());
+    }
+
+    @Test
+    public void loadLazy_withJournal_matchesEagerLoad(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+        storage.saveTasks(new ArrayList<>(List.of(new Todo("read book"), new Todo("write code"))));
+        storage.appendMark(2);
+        storage.appendAdd(new Todo("buy milk"));
+        storage.flush();
+
+        LazyTaskList lazyTasks = new Storage(filePath).loadLazy();
+        ArrayList<Task> eagerTasks = new Storage(filePath).load();
+
+        assertFalse(lazyTasks.isMaterialized(0));
+        assertEquals(eagerTasks, new ArrayList<>(lazyTasks));
+    }
+
+    @Test
+    public void saveTasks_lazyList_untouchedLinesWrittenBack(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("test.txt").toString();
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("T|0|read book" + System.lineSeparator() + "D|0|broken|not-a-date" + System.lineSeparator());
+        }
+        Storage storage = new Storage(filePath);
+        LazyTaskList lazyTasks = storage.loadLazy();
+
+        storage.saveTasks(lazyTasks);
+
+        assertEquals(List.of("#next-id|3", "T|0|read book|1", "D|0|broken|not-a-date|2"),
+                Files.readAllLines(Path.of(filePath)));
+    }
+
+    // ==================== task ID tests ====================
+
+    @Test
+    public void parseTask_idField_readsId() {
+        Storage storage = new Storage("data/test.txt");
+        assertEquals(7, storage.parseTask("T|0|read book|7").getId());
+        assertEquals(8, storage.parseTask("D|0|read book|2024-01-15T10:00|8").getId());
+        assertEquals(9, storage.parseTask("E|0|meeting|2024-01-15T10:00|2024-01-15T12:00|9").getId());
+        assertEquals(Task.NO_ID, storage.parseTask("T|0|read book").getId());
+    }
+
+    @Test
+    public void parseTask_invalidId_returnsNull() {
+        Storage storage = new Storage("data/test.txt");
+        assertNull(storage.parseTask("T|0|read book|seven"));
+        assertNull(storage.parseTask("T|0|read book|0"));
+    }
+
+    @Test
+    public void load_fileWithoutIds_numbersTasksByPosition(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("test.txt").toString();
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("T|0|read book" + System.lineSeparator() + "D|0|broken|not-a-date"
+                    + System.lineSeparator() + "T|1|write code" + System.lineSeparator());
+        }
+
+        Storage storage = new Storage(filePath);
+        ArrayList<Task> loadedTasks = storage.load();
+        LazyTaskList lazyTasks = new Storage(filePath).loadLazy();
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals(1, loadedTasks.get(0).getId());
+        assertEquals(3, loadedTasks.get(1).getId());
+        assertEquals(3, lazyTasks.get(2).getId());
+        assertEquals(4, storage.getNextId());
+    }
+
+    @Test
+    public void load_deletedTaskWithHighestId_idNotReused(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("test.txt").toString();
+        Storage storage = new Storage(filePath);
+        Todo todo = new Todo("read book");
+        todo.setId(5);
+        storage.appendAdd(todo);
+        storage.appendDelete(1);
+        storage.flush();
+
+        Storage reloaded = new Storage(filePath);
+        assertTrue(reloaded.load().isEmpty());
+        assertEquals(6, reloaded.getNextId());
+        reloaded.saveTasks(new ArrayList<>());
+        Storage resaved = new Storage(filePath);
+        resaved.loadLazy();
+        assertEquals(6, resaved.getNextId());
+    }
+
+    @Test
+    public void convert_textToBinary_preservesIds(@TempDir Path tempDir) {
+        String textPath = tempDir.resolve("test.txt").toString();
+        String binaryPath = tempDir.resolve("test.bin").toString();
+        Todo todo = new Todo("read book");
+        todo.setId(3);
+        Storage storage = new Storage(textPath);
+        storage.appendAdd(todo);
+        Todo deletedTodo = new Todo("write code");
+        deletedTodo.setId(4);
+        storage.appendAdd(deletedTodo);
+        storage.appendDelete(2);
+        storage.flush();
+
+        Storage.convert(textPath, binaryPath, SnapshotFormat.BINARY);
+
+        Storage binaryStorage = new Storage(binaryPath);
+        ArrayList<Task> loadedTasks = binaryStorage.load();
+        assertEquals(1, loadedTasks.size());
+        assertEquals(3, loadedTasks.get(0).getId());
+        assertEquals(5, binaryStorage.getNextId());
+    }
+
     // ==================== toFileString format tests ====================
 
     @Test
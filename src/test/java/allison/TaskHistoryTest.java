@@ -0,0 +1,58 @@
+package allison;
+
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskHistoryTest {
+
+    @Test
+    public void undoThenRedo_returnsVersionsInOrder() {
+        PersistentTaskList empty = PersistentTaskList.empty();
+        TaskHistory history = new TaskHistory(empty, 10);
+        history.checkpoint();
+        PersistentTaskList oneTask = empty.plus(0, new Todo("read book"));
+        history.setCurrent(oneTask);
+
+        assertTrue(history.canUndo());
+        assertFalse(history.canRedo());
+        assertSame(empty, history.undo());
+        assertFalse(history.canUndo());
+        assertSame(oneTask, history.redo());
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    public void checkpoint_beyondMaxDepth_forgetsOldestVersion() {
+        PersistentTaskList version = PersistentTaskList.empty();
+        TaskHistory history = new TaskHistory(version, 3);
+        for (int i = 0; i < 5; i++) {
+            history.checkpoint();
+            version = version.plus(i, new Todo("task " + i));
+            history.setCurrent(version);
+        }
+
+        int numUndone = 0;
+        while (history.canUndo()) {
+            history.undo();
+            numUndone++;
+        }
+        assertEquals(3, numUndone);
+        assertEquals(2, history.getCurrent().size());
+    }
+
+    @Test
+    public void checkpoint_afterUndo_clearsRedo() {
+        TaskHistory history = new TaskHistory(PersistentTaskList.empty(), 10);
+        history.checkpoint();
+        history.setCurrent(history.getCurrent().plus(0, new Todo("read book")));
+        history.undo();
+        history.checkpoint();
+
+        assertFalse(history.canRedo());
+    }
+}
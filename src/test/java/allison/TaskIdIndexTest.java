@@ -0,0 +1,46 @@
+package allison;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskIdIndexTest {
+    @Test
+    public void indexOf_randomAddsAndRemoves_matchesList() {
+        Random random = new Random(21);
+        TaskIdIndex index = new TaskIdIndex();
+        ArrayList<Long> ids = new ArrayList<>();
+        long nextId = 1;
+        for (int step = 0; step < 5000; step++) {
+            if (ids.isEmpty() || random.nextInt(3) > 0) {
+                index.add(nextId);
+                ids.add(nextId++);
+            } else {
+                int removed = random.nextInt(ids.size());
+                index.remove(removed);
+                assertEquals(-1, index.indexOf(ids.remove(removed)));
+            }
+            if (!ids.isEmpty()) {
+                long probedId = ids.get(random.nextInt(ids.size()));
+                assertEquals(ids.indexOf(probedId), index.indexOf(probedId));
+            }
+        }
+    }
+
+    @Test
+    public void indexOf_mostTasksRemoved_positionsKept() {
+        TaskIdIndex index = new TaskIdIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.add(id);
+        }
+        for (int i = 0; i < 90; i++) {
+            index.remove(0);
+        }
+        assertEquals(0, index.indexOf(91));
+        assertEquals(9, index.indexOf(100));
+        assertEquals(-1, index.indexOf(50));
+    }
+}
@@ -1,14 +1,19 @@
 package allison;
 
+import allison.task.Deadline;
+import allison.task.Event;
 import allison.task.Task;
 import allison.task.Todo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -34,6 +39,22 @@ public class TaskListTest {
         assertEquals(2, taskList.getNumTasks());
     }
 
+    @Test
+    public void isDirty_afterMutation_true() throws AllisonException {
+        assertFalse(taskList.isDirty());
+        taskList.markTask(1);
+        assertTrue(taskList.isDirty());
+        taskList.markClean();
+        assertFalse(taskList.isDirty());
+    }
+
+    @Test
+    public void isDirty_afterQueries_false() {
+        taskList.listTasks();
+        taskList.findTasks("book");
+        assertFalse(taskList.isDirty());
+    }
+
     @Test
     public void removeTask_validTaskNum_success() throws AllisonException {
         Task removed = taskList.removeTask(2);
@@ -152,4 +173,387 @@ public class TaskListTest {
         assertEquals(1, results.size());
         assertEquals(new Todo("complete homework"), results.get(0));
     }
+
+    @Test
+    public void findTasksByWord_wholeWordOnly_returnsMatches() {
+        taskList.addTask(new Todo("buy notebook"));
+        ArrayList<Task> results = taskList.findTasksByWord("Book");
+        assertEquals(1, results.size());
+        assertEquals(new Todo("read book"), results.get(0));
+    }
+
+    @Test
+    public void findTasksByWord_largeList_indexTracksAddAndRemove() throws AllisonException {
+        for (int i = 0; i < 2000; i++) {
+            taskList.addTask(new Todo("chapter " + i));
+        }
+        assertEquals(1, taskList.findTasksByWord("read book").size());
+
+        taskList.removeTask(1);
+        taskList.addTask(new Todo("return book, then read"));
+
+        ArrayList<Task> results = taskList.findTasksByWord("read book");
+        assertEquals(1, results.size());
+        assertEquals(new Todo("return book, then read"), results.get(0));
+        assertEquals(2000, taskList.findTasksByWord("chapter").size());
+    }
+
+    @Test
+    public void findTasksFuzzy_typos_returnsMatches() {
+        taskList.addTask(new Todo("buy notebook"));
+        ArrayList<Task> results = taskList.findTasksFuzzy("reed bok");
+        assertEquals(1, results.size());
+        assertEquals(new Todo("read book"), results.get(0));
+        assertEquals(1, taskList.findTasksFuzzy("notbook").size());
+    }
+
+    @Test
+    public void findTasksFuzzy_largeList_indexMatchesScan() throws AllisonException {
+        TaskList scannedList = new TaskList(new ArrayList<>(), ListBacking.COLUMNAR);
+        for (int i = 0; i < 2000; i++) {
+            taskList.addTask(new Todo("chapter " + i));
+            scannedList.addTask(new Todo("chapter " + i));
+        }
+        assertEquals(1, taskList.findTasksFuzzy("homewerk").size());
+
+        taskList.removeTask(2);
+        taskList.addTask(new Todo("complete homework again"));
+        scannedList.addTask(new Todo("complete homework again"));
+
+        assertEquals(new Todo("complete homework again"), taskList.findTasksFuzzy("homewerk").get(0));
+        assertEquals(scannedList.findTasksFuzzy("chapterr 12").size(), taskList.findTasksFuzzy("chapterr 12").size());
+    }
+
+    @Test
+    public void findTasks_largeList_indexTracksAddAndRemove() throws AllisonException {
+        for (int i = 0; i < 2000; i++) {
+            taskList.addTask(new Todo("chapter " + i));
+        }
+        assertEquals(1, taskList.findTasks("BOOK").size());
+        assertEquals(111, taskList.findTasks("ter 19").size());
+
+        taskList.removeTask(1);
+        taskList.addTask(new Todo("buy notebook"));
+
+        ArrayList<Task> results = taskList.findTasks("book");
+        assertEquals(1, results.size());
+        assertEquals(new Todo("buy notebook"), results.get(0));
+        assertEquals(2, taskList.findTasks("k").size());
+    }
+
+    @Test
+    public void treeBacking_removeAndFind_matchesArrayBacking() throws AllisonException {
+        TaskList treeTaskList = new TaskList(
+                new ArrayList<>(List.of(new Todo("read book"), new Todo("complete homework"))), ListBacking.TREE);
+        assertTrue(treeTaskList.getTasks() instanceof TreeTaskList);
+
+        treeTaskList.addTask(new Todo("buy notebook"));
+        Task removed = treeTaskList.removeTask(1);
+
+        assertEquals(new Todo("read book"), removed);
+        assertEquals(2, treeTaskList.getNumTasks());
+        assertEquals(new Todo("buy notebook"), treeTaskList.findTasks("book").get(0));
+    }
+
+    @Test
+    public void findDeadlines_range_returnsDeadlinesInDueOrder() throws AllisonException {
+        LocalDateTime monday = LocalDateTime.of(2024, 6, 10, 9, 0);
+        Deadline late = new Deadline("file taxes", monday.plusDays(4));
+        Deadline early = new Deadline("submit report", monday);
+        taskList.addTask(late);
+        taskList.addTask(early);
+        taskList.addTask(new Deadline("renew passport", monday.plusDays(30)));
+
+        assertEquals(List.of(early, late), taskList.findDeadlines(LocalDateTime.MIN, monday.plusDays(4)));
+        assertEquals(List.of(late), taskList.findDeadlines(monday.plusHours(1), monday.plusDays(7)));
+
+        taskList.removeTask(3);
+        taskList.addTask(new Deadline("pay rent", monday.plusDays(2)));
+
+        assertEquals(1, taskList.findDeadlines(monday.plusHours(1), monday.plusDays(7)).size());
+        assertTrue(taskList.findDeadlines(monday.plusDays(7), monday).isEmpty());
+    }
+
+    @Test
+    public void listTasks_window_numberedByPosition() {
+        taskList.addTask(new Todo("buy notebook"));
+        assertEquals("2. [T][ ] complete homework\n3. [T][ ] buy notebook", taskList.listTasks(1, 5).toString());
+        assertEquals("", taskList.listTasks(3, 5).toString());
+    }
+
+    @Test
+    public void listNextPage_deleteBeforeCursor_noTaskSkipped() throws AllisonException {
+        for (int i = 3; i <= 6; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+        taskList.openCursor(0, 2);
+        assertEquals("1. [T][ ] read book\n2. [T][ ] complete homework", taskList.listNextPage().toString());
+
+        taskList.removeTask(1);
+
+        assertEquals("2. [T][ ] task 3\n3. [T][ ] task 4", taskList.listNextPage().toString());
+        assertEquals("4. [T][ ] task 5\n5. [T][ ] task 6", taskList.listNextPage().toString());
+        assertEquals("", taskList.listNextPage().toString());
+    }
+
+    @Test
+    public void listNextPage_noCursor_exceptionThrown() {
+        assertThrows(AllisonException.class, () -> taskList.listNextPage());
+    }
+
+    @Test
+    public void columnarBacking_markAndQueries_matchArrayBacking() throws AllisonException {
+        TaskList columnarTaskList = new TaskList(
+                new ArrayList<>(List.of(new Todo("read book"), new Todo("complete homework"))), ListBacking.COLUMNAR);
+        LocalDateTime monday = LocalDateTime.of(2024, 6, 10, 9, 0);
+        columnarTaskList.addTask(new Deadline("return book", monday));
+
+        columnarTaskList.markTask(1);
+
+        assertTrue(columnarTaskList.getTasks().get(0).isDone());
+        assertTrue(columnarTaskList.listTasks().toString().startsWith("1. [T][X] read book\n"));
+        assertEquals(2, columnarTaskList.findTasks("book").size());
+        assertEquals(1, columnarTaskList.findDeadlines(LocalDateTime.MIN, monday).size());
+    }
+
+    @Test
+    public void offHeapBacking_markDeleteAndQueries_matchArrayBacking() throws AllisonException {
+        TaskList offHeapTaskList = new TaskList(
+                new ArrayList<>(List.of(new Todo("read book"), new Todo("complete homework"))), ListBacking.OFF_HEAP);
+        LocalDateTime monday = LocalDateTime.of(2024, 6, 10, 9, 0);
+        offHeapTaskList.addTask(new Deadline("return book", monday));
+        offHeapTaskList.addTask(new Event("book club", monday, monday.plusHours(2)));
+
+        offHeapTaskList.markTask(1);
+        offHeapTaskList.removeTask(2);
+
+        assertTrue(offHeapTaskList.getTasks().get(0).isDone());
+        assertTrue(offHeapTaskList.listTasks().toString().startsWith("1. [T][X] read book\n2. [D][ ] return book"));
+        assertEquals(3, offHeapTaskList.findTasks("book").size());
+        assertEquals(1, offHeapTaskList.findDeadlines(LocalDateTime.MIN, monday).size());
+        assertEquals(1, offHeapTaskList.findEvents(monday.plusHours(1), monday.plusHours(1)).size());
+    }
+
+    @Test
+    public void versionedBacking_snapshotBeforeChanges_unchanged() throws AllisonException {
+        TaskList versionedTaskList = new TaskList(
+                new ArrayList<>(List.of(new Todo("read book"), new Todo("complete homework"))), ListBacking.VERSIONED);
+        List<Task> snapshot = versionedTaskList.getSnapshot();
+
+        versionedTaskList.markTask(1);
+        versionedTaskList.removeTask(2);
+        versionedTaskList.addTask(new Deadline("return book", LocalDateTime.of(2024, 6, 10, 9, 0)));
+
+        assertEquals(List.of("T|0|read book", "T|0|complete homework"),
+                snapshot.stream().map(Task::toFileString).toList());
+        assertTrue(versionedTaskList.listTasks().toString().startsWith("1. [T][X] read book\n2. [D][ ] return book"));
+        assertEquals(2, versionedTaskList.findTasks("book").size());
+        assertEquals(1, versionedTaskList.findDeadlines(LocalDateTime.MIN, LocalDateTime.MAX).size());
+    }
+
+    @Test
+    public void versionedBacking_largeListMarkedAndRemoved_indexesReturnCurrentTasks() throws AllisonException {
+        LocalDateTime monday = LocalDateTime.of(2024, 6, 10, 9, 0);
+        TaskList versionedTaskList = new TaskList(new ArrayList<>(), ListBacking.VERSIONED);
+        for (int i = 0; i < 2000; i++) {
+            versionedTaskList.addTask(new Todo("chapter " + i));
+        }
+        versionedTaskList.addTask(new Deadline("return book", monday));
+        versionedTaskList.addTask(new Event("book club", monday, monday.plusHours(2)));
+        assertEquals(2, versionedTaskList.findTasksByWord("book").size());
+        assertEquals(1, versionedTaskList.findDeadlines(LocalDateTime.MIN, LocalDateTime.MAX).size());
+
+        versionedTaskList.markTask(2001);
+        versionedTaskList.markTask(2002);
+
+        assertTrue(versionedTaskList.findTasksByWord("book").stream().allMatch(Task::isDone));
+        assertTrue(versionedTaskList.findTasks("book").stream().allMatch(Task::isDone));
+        assertTrue(versionedTaskList.findTasksFuzzy("bok").stream().allMatch(Task::isDone));
+        assertTrue(versionedTaskList.findDeadlines(LocalDateTime.MIN, LocalDateTime.MAX).get(0).isDone());
+        assertTrue(versionedTaskList.findEvents(monday, monday).get(0).isDone());
+
+        versionedTaskList.removeTask(2002);
+        versionedTaskList.removeTask(2001);
+
+        assertTrue(versionedTaskList.findTasksByWord("book").isEmpty());
+        assertTrue(versionedTaskList.findTasks("book").isEmpty());
+        assertTrue(versionedTaskList.findTasksFuzzy("bok").isEmpty());
+        assertTrue(versionedTaskList.findDeadlines(LocalDateTime.MIN, LocalDateTime.MAX).isEmpty());
+        assertTrue(versionedTaskList.findEvents(monday, monday).isEmpty());
+        assertTrue(versionedTaskList.findEventConflicts(new Event("dinner", monday, monday.plusHours(1))).isEmpty());
+    }
+
+    @Test
+    public void getStats_afterMutations_countsMatchList() throws AllisonException {
+        LocalDateTime monday = LocalDateTime.of(2024, 6, 10, 9, 0);
+        TaskStats stats = taskList.getStats();
+        taskList.addTask(new Deadline("return book", monday));
+        taskList.addTask(new Deadline("submit report", monday.plusDays(2)));
+        taskList.addTask(new Event("book club", monday, monday.plusHours(2)));
+
+        taskList.markTask(1);
+        taskList.markTask(1);
+        taskList.markTask(4);
+        taskList.unmarkTask(4);
+        taskList.removeTask(2);
+
+        assertEquals(1, stats.getNumTasks(TaskStats.Type.TODO));
+        assertEquals(1, stats.getNumDone(TaskStats.Type.TODO));
+        assertEquals(2, stats.getNumTasks(TaskStats.Type.DEADLINE));
+        assertEquals(0, stats.getNumDone(TaskStats.Type.DEADLINE));
+        assertEquals(1, stats.getNumTasks(TaskStats.Type.EVENT));
+        assertEquals(1, stats.getNumOverdue(monday.plusDays(1)));
+        assertEquals(2, stats.getNumOverdue(monday.plusDays(3)));
+        assertEquals(0, stats.getNumOverdue(monday));
+    }
+
+    @Test
+    public void findTaskNum_afterDeletes_followsTask() throws AllisonException {
+        taskList.setNextId(10);
+        Todo todo = new Todo("water the plants");
+        taskList.addTask(todo);
+        assertEquals(10, todo.getId());
+        assertEquals(3, taskList.findTaskNum(10, "mark <task number>"));
+
+        taskList.addTask(new Todo("buy milk"));
+        taskList.removeTask(1);
+        assertEquals(2, taskList.findTaskNum(10, "mark <task number>"));
+        taskList.removeTask(2);
+        assertEquals(2, taskList.findTaskNum(11, "mark <task number>"));
+
+        AllisonException exception = assertThrows(AllisonException.class,
+                () -> taskList.findTaskNum(10, "delete <task number>"));
+        assertEquals("Error: No task with ID #10. Correct Usage: delete <task number>", exception.getMessage());
+    }
+
+    @Test
+    public void removeTasks_everyBacking_matchesSingleRemoves() throws AllisonException {
+        for (ListBacking backing : ListBacking.values()) {
+            ArrayList<Task> tasks = new ArrayList<>();
+            for (int i = 1; i <= 30; i++) {
+                tasks.add(new Todo("task " + i));
+            }
+            TaskList bulkTaskList = new TaskList(new ArrayList<>(tasks), backing);
+            TaskList singleTaskList = new TaskList(new ArrayList<>(tasks), backing);
+            int[] taskNums = {2, 3, 4, 10, 29, 30};
+
+            ArrayList<Task> removedTasks = bulkTaskList.removeTasks(taskNums);
+            for (int i = taskNums.length - 1; i >= 0; i--) {
+                singleTaskList.removeTask(taskNums[i]);
+            }
+
+            assertEquals(6, removedTasks.size());
+            assertEquals("[T][ ] task 10", removedTasks.get(3).toString());
+            assertEquals(singleTaskList.listTasks().toString(), bulkTaskList.listTasks().toString(), backing.name());
+        }
+    }
+
+    @Test
+    public void resolveSelection_doneTasksAndIds_sortedWithoutRepeats() throws AllisonException {
+        taskList.addTask(new Todo("water the plants"));
+        taskList.addTask(new Todo("buy milk"));
+        taskList.markTask(1);
+        taskList.markTask(4);
+        TaskSelection selection = new TaskSelection();
+        selection.selectDone();
+        selection.addRange(2, 4);
+        selection.addId(taskList.getTasks().get(2).getId());
+
+        assertArrayEquals(new int[] {1, 2, 3, 4}, taskList.resolveSelection(selection, "delete <task numbers>"));
+
+        TaskSelection outOfRange = new TaskSelection();
+        outOfRange.addRange(2, 5);
+        assertThrows(AllisonException.class, () -> taskList.resolveSelection(outOfRange, "delete <task numbers>"));
+    }
+
+    @Test
+    public void markTasks_invalidTaskNum_changesNothing() {
+        assertThrows(AllisonException.class, () -> taskList.markTasks(new int[] {1, 3}));
+        assertFalse(taskList.getTasks().get(0).isDone());
+    }
+
+    @Test
+    public void undoRedo_versionedBacking_restoresEachVersion() throws AllisonException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        TaskList versionedTaskList = new TaskList(tasks, ListBacking.VERSIONED);
+        versionedTaskList.enableHistory(10);
+        String original = versionedTaskList.listTasks().toString();
+        versionedTaskList.markTask(2);
+        String marked = versionedTaskList.listTasks().toString();
+        versionedTaskList.removeTasks(new int[] {1, 5, 6});
+        versionedTaskList.addTask(new Todo("new task"));
+
+        versionedTaskList.undo();
+        versionedTaskList.undo();
+        assertEquals(marked, versionedTaskList.listTasks().toString());
+        versionedTaskList.undo();
+        assertEquals(original, versionedTaskList.listTasks().toString());
+        assertThrows(AllisonException.class, versionedTaskList::undo);
+        versionedTaskList.redo();
+        assertEquals(marked, versionedTaskList.listTasks().toString());
+        assertEquals(1, versionedTaskList.getStats().getNumDone(TaskStats.Type.TODO));
+    }
+
+    @Test
+    public void enableHistory_invalidDepthOrBacking_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> taskList.enableHistory(5));
+        TaskList versionedTaskList = new TaskList(new ArrayList<>(), ListBacking.VERSIONED);
+        assertThrows(IllegalArgumentException.class, () -> versionedTaskList.enableHistory(-1));
+        taskList.enableHistory(0);
+    }
+
+    @Test
+    public void undo_afterBulkMark_undoesWholeBatch() throws AllisonException {
+        taskList = new TaskList(new ArrayList<>(taskList.getTasks()), ListBacking.VERSIONED);
+        taskList.enableHistory(5);
+        taskList.markTasks(new int[] {1, 2});
+        taskList.undo();
+
+        assertFalse(taskList.getTasks().get(0).isDone());
+        assertFalse(taskList.getTasks().get(1).isDone());
+        assertThrows(AllisonException.class, taskList::undo);
+    }
+
+    @Test
+    public void undo_historyDisabled_throwsException() throws AllisonException {
+        taskList.markTask(1);
+        assertThrows(AllisonException.class, taskList::undo);
+    }
+
+    @Test
+    public void redo_afterNewChange_throwsException() throws AllisonException {
+        taskList = new TaskList(new ArrayList<>(taskList.getTasks()), ListBacking.VERSIONED);
+        taskList.enableHistory(5);
+        taskList.addTask(new Todo("new task"));
+        taskList.undo();
+        taskList.removeTask(1);
+
+        assertThrows(AllisonException.class, taskList::redo);
+        assertEquals("1. [T][ ] complete homework", taskList.listTasks().toString());
+    }
+
+    @Test
+    public void findMostUrgent_everyBacking_tracksMarkAndDelete() throws AllisonException {
+        LocalDateTime day = LocalDateTime.of(2024, 6, 15, 0, 0);
+        for (ListBacking backing : ListBacking.values()) {
+            TaskList backedList = new TaskList(new ArrayList<>(), backing);
+            backedList.addTask(new Deadline("submit report", day.plusDays(2)));
+            backedList.addTask(new Event("team meeting", day.plusDays(1), day.plusDays(3)));
+            backedList.addTask(new Todo("read book"));
+            assertEquals(2, backedList.findMostUrgent(5).size(), backing.name());
+
+            backedList.addTask(new Deadline("pay rent", day));
+            backedList.markTask(2);
+            assertEquals("pay rent", backedList.findMostUrgent(1).get(0).getDescription(), backing.name());
+            assertEquals("submit report", backedList.findMostUrgent(5).get(1).getDescription(), backing.name());
+
+            backedList.unmarkTask(2);
+            backedList.removeTask(4);
+            assertEquals("team meeting", backedList.findMostUrgent(1).get(0).getDescription(), backing.name());
+            assertEquals(2, backedList.findMostUrgent(5).size(), backing.name());
+        }
+    }
 }
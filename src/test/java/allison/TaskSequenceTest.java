@@ -0,0 +1,36 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskSequenceTest {
+
+    @Test
+    public void add_tasksInOrder_numberedAscending() {
+        TaskSequence sequence = new TaskSequence();
+        Task first = new Todo("read book");
+        Task second = new Todo("read book");
+
+        assertEquals(0, sequence.add(first));
+        assertEquals(1, sequence.add(second));
+        assertEquals(0, sequence.add(first));
+    }
+
+    @Test
+    public void remove_copiesAndUnknownTasks_matchedByIdOnly() {
+        TaskSequence sequence = new TaskSequence();
+        Task withId = new Todo("read book");
+        withId.setId(7);
+        Task withoutId = new Todo("write code");
+        sequence.add(withId);
+        sequence.add(withoutId);
+
+        assertEquals(-1, sequence.remove(withoutId.copy()));
+        assertEquals(0, sequence.remove(withId.copy()));
+        assertEquals(-1, sequence.remove(withId));
+        assertEquals(1, sequence.remove(withoutId));
+    }
+}
@@ -0,0 +1,55 @@
+package allison;
+
+import allison.task.Deadline;
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskStatsTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 6, 15, 0, 0);
+
+    @Test
+    public void getNumOverdue_deadlinesChangeBetweenQueries_matchesRecount() {
+        TaskStats stats = new TaskStats();
+        Deadline early = new Deadline("submit report", DAY);
+        Deadline late = new Deadline("return book", DAY.plusDays(2));
+        stats.add(early);
+        stats.add(late);
+        assertEquals(1, stats.getNumOverdue(DAY.plusDays(1)));
+
+        // Changes behind the frontier are applied to the carried count
+        early.markAsDone();
+        stats.update(early, false);
+        stats.add(new Deadline("pay rent", DAY.minusDays(1)));
+        assertEquals(1, stats.getNumOverdue(DAY.plusDays(1)));
+
+        assertEquals(2, stats.getNumOverdue(DAY.plusDays(3)));
+        assertEquals(1, stats.getNumOverdue(DAY));
+    }
+
+    @Test
+    public void getNumOverdue_dueExactlyNow_notOverdue() {
+        TaskStats stats = new TaskStats();
+        stats.add(new Deadline("submit report", DAY));
+        assertEquals(0, stats.getNumOverdue(DAY));
+        assertEquals(1, stats.getNumOverdue(DAY.plusMinutes(1)));
+    }
+
+    @Test
+    public void remove_doneTodo_countsDecrease() {
+        TaskStats stats = new TaskStats();
+        Task todo = new Todo("read book");
+        todo.markAsDone();
+        stats.add(todo);
+        stats.add(new Todo("water plants"));
+
+        stats.remove(todo);
+
+        assertEquals(1, stats.getNumTasks(TaskStats.Type.TODO));
+        assertEquals(0, stats.getNumDone(TaskStats.Type.TODO));
+    }
+}
@@ -0,0 +1,57 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TreeTaskListTest {
+
+    @Test
+    public void constructor_initialTasks_keepsOrder() {
+        List<Task> tasks = List.of(new Todo("a"), new Todo("b"), new Todo("c"), new Todo("d"));
+        TreeTaskList treeTasks = new TreeTaskList(tasks);
+
+        assertEquals(4, treeTasks.size());
+        assertEquals(tasks, treeTasks);
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(42);
+        ArrayList<Task> expected = new ArrayList<>();
+        TreeTaskList actual = new TreeTaskList();
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new Todo("task " + i);
+                expected.add(index, task);
+                actual.add(index, task);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new Todo("replaced " + i);
+                assertEquals(expected.set(index, task), actual.set(index, task));
+            }
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void get_outOfRange_exceptionThrown() {
+        TreeTaskList treeTasks = new TreeTaskList(List.of(new Todo("a")));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> treeTasks.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> treeTasks.add(3, new Todo("b")));
+    }
+}
@@ -0,0 +1,96 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void find_substringQueries_matchLinearScan() {
+        TrigramIndex index = new TrigramIndex();
+        ArrayList<Task> tasks = new ArrayList<>();
+        String[] words = {"read", "Book", "notebook", "REPORT", "homework", "reading list", "bookkeeping"};
+        for (int i = 0; i < 500; i++) {
+            Task task = new Todo(words[i % words.length] + " " + words[(i * 3) % words.length] + " " + i);
+            tasks.add(task);
+            index.add(task);
+        }
+
+        for (String keyword : List.of("book", "BOOK", "ook n", "read", "report 1", "ing l", "zzz", "k 49")) {
+            ArrayList<Task> expected = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, index.find(keyword), keyword);
+        }
+    }
+
+    @Test
+    public void find_sharedTrigramsButNoSubstring_returnsEmpty() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(new Todo("abcd bcde"));
+
+        assertTrue(index.find("abcde").isEmpty());
+    }
+
+    @Test
+    public void remove_equalDescriptions_removesOnlyThatTask() {
+        TrigramIndex index = new TrigramIndex();
+        Task first = new Todo("read book");
+        Task second = new Todo("read book");
+        index.add(first);
+        index.add(second);
+
+        index.remove(first);
+
+        assertEquals(1, index.find("book").size());
+        assertSame(second, index.find("book").get(0));
+    }
+
+    @Test
+    public void remove_copyWithSameId_removesIndexedTask() {
+        TrigramIndex index = new TrigramIndex();
+        Task first = new Todo("read book");
+        Task second = new Todo("return book");
+        first.setId(1);
+        second.setId(2);
+        index.add(first);
+        index.add(second);
+
+        index.remove(first.copy());
+
+        assertEquals(1, index.find("boo").size());
+        assertSame(second, index.find("boo").get(0));
+    }
+
+    @Test
+    public void find_afterRemovingEveryOtherTask_keepsListOrder() {
+        TrigramIndex index = new TrigramIndex();
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Todo("the book " + i);
+            tasks.add(task);
+            index.add(task);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            index.remove(tasks.remove(i));
+        }
+
+        ArrayList<Task> results = index.find("the book");
+
+        assertEquals(tasks.size(), results.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSame(tasks.get(i), results.get(i));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package allison;
+
+import allison.task.Deadline;
+import allison.task.Event;
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UrgencyIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 6, 15, 0, 0);
+
+    @Test
+    public void findMostUrgent_mixedTasks_pendingInTimeOrder() {
+        UrgencyIndex index = new UrgencyIndex();
+        Task report = new Deadline("submit report", DAY.plusDays(2));
+        Task meeting = new Event("team meeting", DAY.plusDays(1), DAY.plusDays(3));
+        Task rent = new Deadline("pay rent", DAY);
+        Task done = new Deadline("return book", DAY.minusDays(1));
+        done.markAsDone();
+        index.add(report);
+        index.add(new Todo("read book"));
+        index.add(meeting);
+        index.add(rent);
+        index.add(done);
+
+        assertEquals(List.of(rent, meeting), index.findMostUrgent(2));
+        assertEquals(List.of(rent, meeting, report), index.findMostUrgent(10));
+    }
+
+    @Test
+    public void update_markAndUnmark_leavesAndRejoins() {
+        UrgencyIndex index = new UrgencyIndex();
+        Task first = new Deadline("submit report", DAY);
+        Task second = new Deadline("pay rent", DAY);
+        index.add(first);
+        index.add(second);
+
+        first.markAsDone();
+        index.update(first, false);
+        assertEquals(List.of(second), index.findMostUrgent(5));
+
+        first.markAsUndone();
+        index.update(first, true);
+        assertEquals(List.of(second, first), index.findMostUrgent(5));
+
+        index.remove(second);
+        index.remove(first);
+        assertTrue(index.findMostUrgent(5).isEmpty());
+    }
+
+    @Test
+    public void remove_copyWithSameId_removesOriginal() {
+        UrgencyIndex index = new UrgencyIndex();
+        Task task = new Deadline("submit report", DAY);
+        task.setId(7);
+        index.add(task);
+
+        index.remove(task.copy());
+
+        assertTrue(index.findMostUrgent(5).isEmpty());
+    }
+}
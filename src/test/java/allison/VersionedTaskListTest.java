@@ -0,0 +1,57 @@
+package allison;
+
+import allison.task.Task;
+import allison.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class VersionedTaskListTest {
+
+    @Test
+    public void snapshot_laterChanges_notVisible() {
+        VersionedTaskList tasks = new VersionedTaskList(List.of(new Todo("read book"), new Todo("return book")));
+        PersistentTaskList snapshot = tasks.snapshot();
+
+        tasks.remove(0);
+        tasks.add(new Todo("water plants"));
+        tasks.set(0, new Todo("return the book"));
+
+        assertEquals("T|0|read book", snapshot.get(0).toFileString());
+        assertEquals(2, snapshot.size());
+        assertEquals("T|0|return the book", tasks.get(0).toFileString());
+    }
+
+    @Test
+    public void snapshot_readWhileWriterChangesList_alwaysConsistent() throws InterruptedException {
+        // The writer keeps the invariant that task i is described as "task i"
+        VersionedTaskList tasks = new VersionedTaskList();
+        AtomicReference<String> error = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            for (int round = 0; round < 2000; round++) {
+                int i = 0;
+                for (Task task : tasks.snapshot()) {
+                    if (!task.getDescription().equals("task " + i)) {
+                        error.set("Torn snapshot at " + i + ": " + task.getDescription());
+                        return;
+                    }
+                    i++;
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 5000; i++) {
+            tasks.add(new Todo("task " + tasks.size()));
+            if (i % 3 == 0) {
+                tasks.remove(tasks.size() - 1);
+            }
+        }
+        reader.join();
+
+        assertNull(error.get());
+    }
+}
@@ -174,4 +174,14 @@ public class TaskTest {
         assertTrue(event.toFileString().startsWith("E|"));
         assertFalse(event.toFileString().startsWith("D|"));
     }
+
+    @Test
+    public void event_copy_independentOfOriginal() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 15, 10, 0);
+        Event event = new Event("meeting", start, start.plusHours(2));
+        Event copy = event.copy();
+        copy.markAsDone();
+        assertEquals("E|0|meeting|2024-06-15T10:00|2024-06-15T12:00", event.toFileString());
+        assertEquals("E|1|meeting|2024-06-15T10:00|2024-06-15T12:00", copy.toFileString());
+    }
 }